@@ -0,0 +1,72 @@
+package vrp.benchmarks;
+
+import data.Data;
+import data.Vehicle;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import vrp.InstanceGenerator;
+import vrp.Logger;
+import vrp.Solver;
+
+import java.util.List;
+
+/**
+ * Benchmark state holding a generated instance and its greedy solution, prepared the same way as the ALNS prepares its
+ * starting solution.
+ */
+@State(Scope.Thread)
+public class InstanceState {
+
+    /**
+     * Seed of the generated instances and of every random decision made during the benchmarks.
+     */
+    public static final long SEED = 20240101L;
+
+    /**
+     * Number of customers of the generated instance.
+     */
+    @Param({"100", "500", "2000"})
+    public int size;
+
+    /**
+     * The generated instance, before solving it.
+     */
+    public Data instance;
+
+    /**
+     * Greedy solution of the instance.
+     */
+    public Data solution;
+
+    public Solver solver;
+
+    /**
+     * Logger which discards every message, so the benchmarks measure the solver only.
+     */
+    public Logger logger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = InstanceGenerator.generate(size, SEED);
+        solution = new Data(instance);
+        solver = new Solver(List.of(solution), SEED);
+        logger = new Logger(Logger.Level.OFF);
+        solver.initGreedy(solution, logger);
+        solution.destroyInfo();
+        for (Vehicle vehicle : solution.getFleet()) {
+            if (vehicle.getRouteSize() > 3) solver.updateArrivalTimesForVehicle(vehicle, solution);
+        }
+    }
+
+    /**
+     * Number of nodes removed by a destroy operator, chosen from the same range as in the ALNS.
+     *
+     * @return - number of nodes to remove
+     */
+    public int numberOfNodesToRemove() {
+        return Math.min(4 + size / 10, 100);
+    }
+}
@@ -0,0 +1,129 @@
+package vrp.benchmarks;
+
+import data.Data;
+import data.HeuristicWeights;
+import data.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vrp.Heuristics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the destroy and repair operators. Every invocation starts from a fresh copy of the greedy solution
+ * and a freshly seeded random number generator, so each invocation does the same work. The operator is selected
+ * through the heuristic weights, with the weight of every other operator set to zero.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+
+    @State(Scope.Thread)
+    public static class DestroyState {
+
+        @Param({"worstRemoval", "randomRemoval", "relatedRemoval", "deleteDisposal", "swapDisposal", "insertDisposal"})
+        public String operator;
+
+        HeuristicWeights heuristicWeights;
+        Heuristics heuristics;
+        Data data;
+        List<Node> nodesToSwap;
+
+        @Setup(Level.Trial)
+        public void setUpWeights() {
+            heuristicWeights = destroyWeights(operator);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUp(InstanceState state) {
+            heuristics = new Heuristics(state.solver, new Random(InstanceState.SEED));
+            data = new Data(state.solution);
+            nodesToSwap = new ArrayList<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RepairState {
+
+        @Param({"greedyInsert", "regretInsert_2", "regretInsert_3", "regretInsert_k"})
+        public String operator;
+
+        HeuristicWeights heuristicWeights;
+        Heuristics heuristics;
+        Data data;
+        List<Node> nodesToSwap;
+
+        @Setup(Level.Trial)
+        public void setUpWeights() {
+            heuristicWeights = repairWeights(operator);
+        }
+
+        /**
+         * The nodes to insert are removed by the random removal, then the arrival times are updated as in the ALNS.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(InstanceState state) {
+            data = new Data(state.solution);
+            nodesToSwap = new ArrayList<>();
+            new Heuristics(state.solver, new Random(InstanceState.SEED))
+                    .destroyNodes(data, state.numberOfNodesToRemove(), nodesToSwap, destroyWeights("randomRemoval"), state.logger);
+            state.solver.updateArrivalTimes(data);
+            heuristics = new Heuristics(state.solver, new Random(InstanceState.SEED));
+        }
+    }
+
+    @Benchmark
+    public List<Node> destroy(InstanceState state, DestroyState destroyState) {
+        destroyState.heuristics.destroyNodes(destroyState.data, state.numberOfNodesToRemove(), destroyState.nodesToSwap,
+                destroyState.heuristicWeights, state.logger);
+        return destroyState.nodesToSwap;
+    }
+
+    @Benchmark
+    public Data repair(InstanceState state, RepairState repairState) {
+        repairState.heuristics.repairNodes(repairState.data, repairState.nodesToSwap, repairState.heuristicWeights, state.logger);
+        return repairState.data;
+    }
+
+    static HeuristicWeights destroyWeights(String operator) {
+        HeuristicWeights heuristicWeights = new HeuristicWeights();
+        heuristicWeights.setWorstRemovalWeight(operator.equals("worstRemoval") ? 1 : 0);
+        heuristicWeights.setRandomRemovalWeight(operator.equals("randomRemoval") ? 1 : 0);
+        heuristicWeights.setRelatedRemovalWeight(operator.equals("relatedRemoval") ? 1 : 0);
+        heuristicWeights.setDeleteDisposalWeight(operator.equals("deleteDisposal") ? 1 : 0);
+        heuristicWeights.setSwapDisposalWeight(operator.equals("swapDisposal") ? 1 : 0);
+        heuristicWeights.setInsertDisposalWeight(operator.equals("insertDisposal") ? 1 : 0);
+        if (heuristicWeights.sumOfDestroy() == 0) {
+            throw new IllegalArgumentException("Unknown destroy operator: " + operator);
+        }
+        return heuristicWeights;
+    }
+
+    private static HeuristicWeights repairWeights(String operator) {
+        HeuristicWeights heuristicWeights = new HeuristicWeights();
+        heuristicWeights.setGreedyInsertWeight(operator.equals("greedyInsert") ? 1 : 0);
+        heuristicWeights.setRegret_2_InsertWeight(operator.equals("regretInsert_2") ? 1 : 0);
+        heuristicWeights.setRegret_3_InsertWeight(operator.equals("regretInsert_3") ? 1 : 0);
+        heuristicWeights.setRegret_K_InsertWeight(operator.equals("regretInsert_k") ? 1 : 0);
+        if (heuristicWeights.sumOfRepair() == 0) {
+            throw new IllegalArgumentException("Unknown repair operator: " + operator);
+        }
+        return heuristicWeights;
+    }
+}
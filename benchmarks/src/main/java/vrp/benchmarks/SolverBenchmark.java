@@ -0,0 +1,87 @@
+package vrp.benchmarks;
+
+import data.Data;
+import data.Node;
+import data.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vrp.Heuristics;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the evaluation and bookkeeping methods called in every ALNS iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @State(Scope.Thread)
+    public static class ArrivalTimesState {
+
+        Data data;
+
+        /**
+         * The arrival times are propagated only from the modified positions, so every invocation starts from a fresh
+         * copy of the greedy solution with nodes removed by the random removal, like the ALNS after a destroy.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(InstanceState state) {
+            data = new Data(state.solution);
+            new Heuristics(state.solver, new Random(InstanceState.SEED)).destroyNodes(data, state.numberOfNodesToRemove(),
+                    new ArrayList<>(), OperatorBenchmark.destroyWeights("randomRemoval"), state.logger);
+        }
+    }
+
+    @Benchmark
+    public int checkForValidity(InstanceState state) {
+        int valid = 0;
+        for (Vehicle vehicle : state.solution.getFleet()) {
+            if (!vehicle.isPenaltyVehicle() && state.solver.checkForValidity(state.solution, vehicle)) valid++;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public float getDataValue(InstanceState state) {
+        return state.solver.getDataValue(state.solution);
+    }
+
+    /**
+     * Only the routes modified by the destroy have outdated arrival times, the others are still shared with the greedy
+     * solution and are skipped.
+     */
+    @Benchmark
+    public Data updateArrivalTimes(InstanceState state, ArrivalTimesState arrivalTimesState) {
+        state.solver.updateArrivalTimes(arrivalTimesState.data);
+        return arrivalTimesState.data;
+    }
+
+    /**
+     * First step of the greedy initialization, the nearest feasible customer from the depot with every customer
+     * unvisited.
+     */
+    @Benchmark
+    public Node findNextNode(InstanceState state) {
+        return state.instance.findNextNode(state.instance.getFleet().get(0), state.instance.getDepotNode());
+    }
+
+    @Benchmark
+    public Data copyData(InstanceState state) {
+        return new Data(state.solution);
+    }
+}
@@ -0,0 +1,96 @@
+package data;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Granular neighbourhood of the insertion heuristics, computed once per instance and shared by every copy of the data
+ * object. The candidates of a node are its k nearest nodes among the ones which are time compatible with it, i.e.
+ * which can be visited right before or right after it without violating a time window. In granular mode a node is
+ * only inserted next to one of its candidates, or next to a depot or a dumping site, so routes can still be opened
+ * and closed.
+ */
+public class CandidateLists {
+
+    private final int k;
+
+    /**
+     * Row-major table of the k candidates of every node, every row is sorted by node id for the binary search.
+     */
+    private final int[] candidates;
+
+    /**
+     * Number of valid entries of each row, less than k if the node has fewer time compatible nodes.
+     */
+    private final int[] candidateCounts;
+
+    /**
+     * @param nodes  - nodes of the instance, ordered by id
+     * @param matrix - distance matrix of the instance
+     * @param k      - number of candidates of every node
+     */
+    public CandidateLists(List<Node> nodes, DistanceMatrix matrix, int k) {
+        int size = nodes.size();
+        this.k = Math.min(k, Math.max(size - 1, 0));
+        this.candidates = new int[size * this.k];
+        this.candidateCounts = new int[size];
+        float[] nearestCosts = new float[this.k];
+        for (Node node : nodes) {
+            fillCandidates(nodes, matrix, node, nearestCosts);
+        }
+    }
+
+    /**
+     * Keeps the k cheapest compatible nodes of the row in an ordered window like MatrixStatistics does, the cost of a
+     * pair is the shorter of the two directions in which they can follow each other.
+     */
+    private void fillCandidates(List<Node> nodes, DistanceMatrix matrix, Node node, float[] nearestCosts) {
+        int row = node.getId(), offset = row * k, found = 0;
+        if (k == 0) return;
+        for (Node other : nodes) {
+            if (other.getId() == row) continue;
+            float cost = Float.MAX_VALUE;
+            float forward = matrix.getDistance(row, other.getId());
+            if (node.getTimeStart() + node.getServiceTime() + forward <= other.getTimeEnd()) cost = forward;
+            float backward = matrix.getDistance(other.getId(), row);
+            if (other.getTimeStart() + other.getServiceTime() + backward <= node.getTimeEnd()) cost = Math.min(cost, backward);
+            if (cost == Float.MAX_VALUE) continue;
+            if (found == k && cost >= nearestCosts[k - 1]) continue;
+            int position = found < k ? found++ : k - 1;
+            while (position > 0 && nearestCosts[position - 1] > cost) {
+                nearestCosts[position] = nearestCosts[position - 1];
+                candidates[offset + position] = candidates[offset + position - 1];
+                position--;
+            }
+            nearestCosts[position] = cost;
+            candidates[offset + position] = other.getId();
+        }
+        candidateCounts[row] = found;
+        Arrays.sort(candidates, offset, offset + found);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * @return - true if the other node is one of the candidates of the node
+     */
+    public boolean isCandidate(Node node, Node other) {
+        int offset = node.getId() * k;
+        return Arrays.binarySearch(candidates, offset, offset + candidateCounts[node.getId()], other.getId()) >= 0;
+    }
+
+    /**
+     * Checks whether the insertion of the node between two consecutive nodes of a route is evaluated in granular mode.
+     *
+     * @param node         - customer node to insert
+     * @param previousNode - node before the position
+     * @param nextNode     - node after the position
+     * @return - true if one of the neighbours of the position is a candidate of the node, a depot or a dumping site
+     */
+    public boolean isCandidatePosition(Node node, Node previousNode, Node nextNode) {
+        return !previousNode.customerNode() || !nextNode.customerNode()
+                || isCandidate(node, previousNode) || isCandidate(node, nextNode);
+    }
+}
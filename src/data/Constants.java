@@ -16,6 +16,15 @@ public class Constants {
     private float R;
     private float ETA;
     private float ZETA;
+    private int NEAREST_NEIGHBOURS;
+    private int EXCHANGE_INTERVAL;
+    private int RESTART_LIMIT;
+    private int SOLUTION_HASHES_BOUND;
+    private int DISTANCE_CACHE_ROWS;
+    private int GRANULAR_NEIGHBOURS;
+    private boolean GRANULAR_FALLBACK;
+    private int PARALLEL_INSERTION_THRESHOLD;
+    private boolean VERIFY_SOLUTIONS;
     private String dividerString;
 
     public Constants() {
@@ -33,6 +42,15 @@ public class Constants {
         this.R = (float) 0.1;
         this.ETA = (float) 0.025;
         this.ZETA = (float) 0.4;
+        this.NEAREST_NEIGHBOURS = 10;
+        this.EXCHANGE_INTERVAL = 250;
+        this.RESTART_LIMIT = 1500;
+        this.SOLUTION_HASHES_BOUND = 25000;
+        this.DISTANCE_CACHE_ROWS = 0;
+        this.GRANULAR_NEIGHBOURS = 0;
+        this.GRANULAR_FALLBACK = true;
+        this.PARALLEL_INSERTION_THRESHOLD = 32;
+        this.VERIFY_SOLUTIONS = false;
         this.dividerString = "============================================================";
     }
 
@@ -77,6 +95,55 @@ public class Constants {
         return R;
     }
 
+    public int getNEAREST_NEIGHBOURS() {
+        return NEAREST_NEIGHBOURS;
+    }
+
+    public int getEXCHANGE_INTERVAL() {
+        return EXCHANGE_INTERVAL;
+    }
+
+    public int getRESTART_LIMIT() {
+        return RESTART_LIMIT;
+    }
+
+    public int getSOLUTION_HASHES_BOUND() {
+        return SOLUTION_HASHES_BOUND;
+    }
+
+    public int getDISTANCE_CACHE_ROWS() {
+        return DISTANCE_CACHE_ROWS;
+    }
+
+    /**
+     * @return - number of candidate neighbours of a node in granular insertion, 0 evaluates every position
+     */
+    public int getGRANULAR_NEIGHBOURS() {
+        return GRANULAR_NEIGHBOURS;
+    }
+
+    /**
+     * @return - true if a node which can not be inserted next to its candidates is evaluated at every position
+     */
+    public boolean isGRANULAR_FALLBACK() {
+        return GRANULAR_FALLBACK;
+    }
+
+    /**
+     * @return - number of removed nodes from which their insertions are first evaluated in parallel, 0 turns it off
+     */
+    public int getPARALLEL_INSERTION_THRESHOLD() {
+        return PARALLEL_INSERTION_THRESHOLD;
+    }
+
+    /**
+     * @return - true if the solutions are verified after every step of the heuristics, it is also turned on by running
+     * with assertions enabled
+     */
+    public boolean isVERIFY_SOLUTIONS() {
+        return VERIFY_SOLUTIONS;
+    }
+
     public String getDividerString() {
         return dividerString;
     }
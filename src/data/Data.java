@@ -1,6 +1,7 @@
 package data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -8,10 +9,32 @@ public class Data {
 
     private String dataset;
     private String info;
-    private Float[][] matrix;
+    private DistanceMatrix matrix;
+    private MatrixStatistics matrixStatistics;
+    private CandidateLists candidateLists;
     private List<Node> nodeList;
     private List<Vehicle> fleet;
     private List<Integer> dumpingSites;
+    private boolean[] visited;
+    private float[] visitingTimes;
+
+    /**
+     * The visited flags and the visiting times are shared between a solution and its copies until one of them modifies
+     * them, like the routes of the vehicles.
+     */
+    private boolean visitedShared;
+    private boolean visitingTimesShared;
+    private int customerCount;
+    private int visitedCustomerCount;
+
+    /**
+     * Location of every customer in the routes of the fleet, the index of its vehicle in the fleet and its position in
+     * the route, -1 if it is not in any route. Built on the first lookup and kept up-to-date by the insertNode and
+     * removeNode methods of the vehicles. Shared with the copies of the solution like the visited flags.
+     */
+    private int[] vehicleIndices;
+    private int[] routePositions;
+    private boolean nodeLocationsShared;
 
     public Data() {
         this.nodeList = new ArrayList<>();
@@ -19,13 +42,36 @@ public class Data {
         this.dumpingSites = new ArrayList<>();
     }
 
+    /**
+     * Copies the solution, sharing the per node arrays and the routes with the source until either side modifies
+     * them. The source and its vehicles are marked as shared as well, but only if they are not yet, so a published
+     * solution which is copied from several threads is only read.
+     *
+     * @param data - solution to copy
+     */
     public Data(Data data) {
         this.dataset = data.getDataset();
         this.info = data.getInfo();
         this.matrix = data.getMatrix();
-        this.nodeList = copyNodeList(data.getNodeList());
+        this.matrixStatistics = data.getMatrixStatistics();
+        this.candidateLists = data.getCandidateLists();
+        this.nodeList = data.getNodeList();
         this.fleet = copyFleet(data.getFleet());
         this.dumpingSites = data.getDumpingSites();
+        this.visited = data.visited;
+        this.visitingTimes = data.visitingTimes;
+        this.customerCount = data.customerCount;
+        this.visitedCustomerCount = data.visitedCustomerCount;
+        this.vehicleIndices = data.vehicleIndices;
+        this.routePositions = data.routePositions;
+        this.visitedShared = true;
+        this.visitingTimesShared = true;
+        this.nodeLocationsShared = true;
+        if (!data.visitedShared || !data.visitingTimesShared || !data.nodeLocationsShared) {
+            data.visitedShared = true;
+            data.visitingTimesShared = true;
+            data.nodeLocationsShared = true;
+        }
     }
 
     private List<Vehicle> copyFleet(List<Vehicle> fleet) {
@@ -37,23 +83,33 @@ public class Data {
         return vehicles;
     }
 
-    private List<Node> copyNodeList(List<Node> nodeList) {
-        List<Node> nodes = new ArrayList<>();
-        for (Node node : nodeList) {
-            Node copiedNode = new Node(node);
-            nodes.add(copiedNode);
-        }
-        return nodes;
-    }
-
     public String getDataset() {
         return dataset;
     }
 
-    public Float[][] getMatrix() {
+    public DistanceMatrix getMatrix() {
         return matrix;
     }
 
+    public MatrixStatistics getMatrixStatistics() {
+        return matrixStatistics;
+    }
+
+    public void setMatrixStatistics(MatrixStatistics matrixStatistics) {
+        this.matrixStatistics = matrixStatistics;
+    }
+
+    /**
+     * @return - candidate lists of the granular insertion, null if every position is evaluated
+     */
+    public CandidateLists getCandidateLists() {
+        return candidateLists;
+    }
+
+    public void setCandidateLists(CandidateLists candidateLists) {
+        this.candidateLists = candidateLists;
+    }
+
     public List<Integer> getDumpingSites() {
         return dumpingSites;
     }
@@ -72,6 +128,8 @@ public class Data {
 
     public void addNode(Node node) {
         this.nodeList.add(node);
+        if (node.isDumpingSite()) this.dumpingSites.add(node.getId());
+        if (node.customerNode()) this.customerCount++;
     }
 
     public void addVehicle(Vehicle vehicle) {
@@ -86,7 +144,7 @@ public class Data {
         return this.nodeList.get(idx);
     }
 
-    public void setMatrix(Float[][] matrix) {
+    public void setMatrix(DistanceMatrix matrix) {
         this.matrix = matrix;
     }
 
@@ -98,8 +156,107 @@ public class Data {
         return fleet;
     }
 
+    /**
+     * @param node - customer node
+     * @return - the vehicle whose route contains the node, null if the node is not in any route
+     */
+    public Vehicle getVehicleOfNode(Node node) {
+        if (vehicleIndices == null) buildNodeLocations();
+        int vehicleIndex = vehicleIndices[node.getId()];
+        return vehicleIndex < 0 ? null : fleet.get(vehicleIndex);
+    }
+
+    /**
+     * @param node - customer node
+     * @return - the position of the node in the route of its vehicle, -1 if the node is not in any route
+     */
+    public int getPositionOfNode(Node node) {
+        if (vehicleIndices == null) buildNodeLocations();
+        return routePositions[node.getId()];
+    }
+
+    private void buildNodeLocations() {
+        vehicleIndices = new int[nodeList.size()];
+        routePositions = new int[nodeList.size()];
+        nodeLocationsShared = false;
+        Arrays.fill(vehicleIndices, -1);
+        Arrays.fill(routePositions, -1);
+        for (int i = 0; i < fleet.size(); i++) {
+            updateNodeLocations(i, fleet.get(i), 0);
+        }
+    }
+
+    /**
+     * Updates the location of the customers of the route from the given position, called after a node is inserted
+     * into or removed from the route at that position.
+     *
+     * @param vehicle      - vehicle whose route has been modified
+     * @param fromPosition - position of the modification
+     * @param removedNode  - the removed node, null after an insertion
+     */
+    void nodeLocationsChanged(Vehicle vehicle, int fromPosition, Node removedNode) {
+        if (vehicleIndices == null) return;
+        if (nodeLocationsShared) {
+            vehicleIndices = vehicleIndices.clone();
+            routePositions = routePositions.clone();
+            nodeLocationsShared = false;
+        }
+        if (removedNode != null && removedNode.customerNode()) {
+            vehicleIndices[removedNode.getId()] = -1;
+            routePositions[removedNode.getId()] = -1;
+        }
+        updateNodeLocations(getFleetIndex(vehicle), vehicle, fromPosition);
+    }
+
+    private void updateNodeLocations(int vehicleIndex, Vehicle vehicle, int fromPosition) {
+        List<Node> route = vehicle.getRoute();
+        for (int i = fromPosition; i < route.size(); i++) {
+            Node node = route.get(i);
+            if (!node.customerNode()) continue;
+            vehicleIndices[node.getId()] = vehicleIndex;
+            routePositions[node.getId()] = i;
+        }
+    }
+
+    /**
+     * The vehicles are stored in the order of their ids, followed by the penalty vehicle.
+     */
+    private int getFleetIndex(Vehicle vehicle) {
+        int index = vehicle.isPenaltyVehicle() ? fleet.size() - 1 : vehicle.getId();
+        return index >= 0 && index < fleet.size() && fleet.get(index) == vehicle ? index : fleet.indexOf(vehicle);
+    }
+
+    public boolean isVisited(Node node) {
+        return visited != null && visited[node.getId()];
+    }
+
+    public void setVisited(Node node, boolean value) {
+        if (visited == null) {
+            visited = new boolean[nodeList.size()];
+        } else if (visitedShared) {
+            visited = visited.clone();
+        }
+        visitedShared = false;
+        if (visited[node.getId()] != value && node.customerNode()) visitedCustomerCount += value ? 1 : -1;
+        visited[node.getId()] = value;
+    }
+
+    public float getVisitingTime(Node node) {
+        return visitingTimes == null ? 0 : visitingTimes[node.getId()];
+    }
+
+    public void setVisitingTime(Node node, float visitingTime) {
+        if (visitingTimes == null) {
+            visitingTimes = new float[nodeList.size()];
+        } else if (visitingTimesShared) {
+            visitingTimes = visitingTimes.clone();
+        }
+        visitingTimesShared = false;
+        visitingTimes[node.getId()] = visitingTime;
+    }
+
     public boolean hasMoreUnvisitedNodes() {
-        return nodeList.stream().anyMatch(node -> !node.isDepot() && !node.isDumpingSite() && !node.isVisited());
+        return visitedCustomerCount < customerCount;
     }
 
     public Node getDepotNode() {
@@ -107,35 +264,86 @@ public class Data {
     }
 
     public Node findNextNode(Vehicle currentVehicle, Node currentNode) {
+        if (currentNode.isDepot()) {
+            return findNextNodeFromDepot(currentVehicle, currentNode);
+        }
+        Node nearestDump = getNearestDumpingSiteNode(currentVehicle, currentNode);
+        float dumpDistance = getDistanceBetweenNode(currentNode, nearestDump);
+        boolean preferDump = currentVehicle.getCapacity() >= currentVehicle.getMaximumCapacity() * 0.8;
+        for (int rank = 0; rank < matrixStatistics.getNearestK(); rank++) {
+            Node node = nodeList.get(matrixStatistics.getNearestNeighbour(currentNode.getId(), rank));
+            float travelDistance = getDistanceBetweenNode(currentNode, node);
+            if (preferDump && dumpDistance < travelDistance) {
+                // every node from here on is farther than the dumping site
+                return null;
+            }
+            if (!node.customerNode() || isVisited(node)) continue;
+            if (isNextNodeFeasible(currentVehicle, currentNode, node, travelDistance)) {
+                // the depot check does not depend on the node, if it fails no node can be visited next
+                return checkForDepotTW(currentVehicle, currentNode) ? node : null;
+            }
+        }
+        return findNextNodeByScan(currentVehicle, currentNode, dumpDistance, preferDump);
+    }
+
+    /**
+     * Fallback of findNextNode when none of the nearest neighbours of the current node can be visited next.
+     */
+    private Node findNextNodeByScan(Vehicle currentVehicle, Node currentNode, float dumpDistance, boolean preferDump) {
         float distance = Float.MAX_VALUE;
-        Node nextNode = new Node();
-        nextNode.setNullNode(true);
+        Node nextNode = null;
+        int depotReachable = -1;
+        for (Node node : nodeList) {
+            if (!node.customerNode() || isVisited(node)) continue;
+            float travelDistance = getDistanceBetweenNode(currentNode, node);
+            if (travelDistance < distance && isNextNodeFeasible(currentVehicle, currentNode, node, travelDistance)) {
+                if (depotReachable == -1) depotReachable = checkForDepotTW(currentVehicle, currentNode) ? 1 : 0;
+                if (depotReachable == 0) break;
+                distance = travelDistance;
+                nextNode = node;
+            }
+        }
+        if (preferDump && dumpDistance < distance) {
+            return null;
+        }
+        return nextNode;
+    }
+
+    private boolean isNextNodeFeasible(Vehicle currentVehicle, Node currentNode, Node node, float travelDistance) {
+        float arrivalTime = currentVehicle.getCurrentTime() + currentNode.getServiceTime() + travelDistance;
+        return capacityCheck(currentVehicle, node)
+                && maximumNodesVisited(currentVehicle)
+                && timeWindowCheck(arrivalTime, node)
+                && arrivalTime >= node.getTimeStart();
+    }
+
+    /**
+     * The first node of a route is chosen differently, the vehicle can wait at the depot for the time window of the
+     * node to open.
+     */
+    private Node findNextNodeFromDepot(Vehicle currentVehicle, Node currentNode) {
+        float distance = Float.MAX_VALUE;
+        Node nextNode = null;
         Node nearestDump = getNearestDumpingSiteNode(currentVehicle, currentNode);
         float dumpDistance = getDistanceBetweenNode(currentNode, nearestDump);
-        List<Node> feasibleNodes = nodeList.stream().filter(node -> !node.isDepot() && !node.isDumpingSite() && !node.isVisited()).collect(Collectors.toList());
-        for (Node node : feasibleNodes) {
+        for (Node node : nodeList) {
+            if (!node.customerNode() || isVisited(node)) continue;
             float travelDistance = getDistanceBetweenNode(currentNode, node);
-            if (currentNode.isDepot()
-                    && currentNode.getTimeStart() + currentNode.getServiceTime() + travelDistance <= node.getTimeEnd()
+            if (currentNode.getTimeStart() + currentNode.getServiceTime() + travelDistance <= node.getTimeEnd()
                     && node.getTimeStart() <= currentNode.getTimeEnd() + travelDistance
                     && capacityCheck(currentVehicle, node)
                     && maximumNodesVisited(currentVehicle)) {
                 distance = travelDistance;
                 nextNode = node;
             } else if (travelDistance < distance
-                    && capacityCheck(currentVehicle, node)
-                    && maximumNodesVisited(currentVehicle)
-                    && timeWindowCheck(currentVehicle.getCurrentTime() + currentNode.getServiceTime() + travelDistance, node)
-                    && currentVehicle.getCurrentTime() + currentNode.getServiceTime() + travelDistance >= node.getTimeStart()
+                    && isNextNodeFeasible(currentVehicle, currentNode, node, travelDistance)
                     && checkForDepotTW(currentVehicle, currentNode)) {
                 distance = travelDistance;
                 nextNode = node;
             }
         }
         if (currentVehicle.getCapacity() >= currentVehicle.getMaximumCapacity() * 0.8 && dumpDistance < distance) {
-            Node nullNode = new Node();
-            nullNode.setNullNode(true);
-            return nullNode;
+            return null;
         }
         return nextNode;
     }
@@ -152,7 +360,7 @@ public class Data {
     }
 
     private boolean maximumNodesVisited(Vehicle currentVehicle) {
-        return currentVehicle.getRoute().size() < currentVehicle.getMaximumNumberOfStopsToVisit();
+        return currentVehicle.getRouteSize() < currentVehicle.getMaximumNumberOfStopsToVisit();
     }
 
     private boolean capacityCheck(Vehicle vehicle, Node node) {
@@ -162,14 +370,13 @@ public class Data {
     public Node getNearestDumpingSiteNode(Vehicle currentVehicle, Node currentNode) {
         float bestDistance = Float.MAX_VALUE;
         Node nearestDumpingSite = null;
-        for (Node node : nodeList) {
-            if (node.isDumpingSite()) {
-                float travelDistance = getDistanceBetweenNode(currentNode, node);
-                if (travelDistance < bestDistance
-                        && timeWindowCheck(currentVehicle.getCurrentTime() + travelDistance, node)) {
-                    bestDistance = travelDistance;
-                    nearestDumpingSite = node;
-                }
+        for (int dumpingSiteId : dumpingSites) {
+            Node node = nodeList.get(dumpingSiteId);
+            float travelDistance = getDistanceBetweenNode(currentNode, node);
+            if (travelDistance < bestDistance
+                    && timeWindowCheck(currentVehicle.getCurrentTime() + travelDistance, node)) {
+                bestDistance = travelDistance;
+                nearestDumpingSite = node;
             }
         }
         return nearestDumpingSite;
@@ -180,7 +387,7 @@ public class Data {
     }
 
     public float getDistanceBetweenNode(Node nodeFrom, Node nodeTo) {
-        return matrix[nodeFrom.getId()][nodeTo.getId()];
+        return matrix.getDistance(nodeFrom.getId(), nodeTo.getId());
     }
 
     public void destroyInfo() {
@@ -188,8 +395,8 @@ public class Data {
             vehicle.setCapacity((float) 0);
             vehicle.setCurrentTime((float) 0);
             for (Node node : vehicle.getRoute().stream().filter(node -> !node.isDepot() && !node.isDumpingSite()).collect(Collectors.toList())) {
-                node.setVisited(false);
-                node.setVisitedAt((float) 0);
+                setVisited(node, false);
+                setVisitingTime(node, 0);
             }
         }
     }
@@ -203,36 +410,27 @@ public class Data {
         return null;
     }
 
-    public String dataToHash() {
-        StringBuilder stringBuilder = new StringBuilder();
+    public long fingerprint() {
+        long hash = 0;
         for (Vehicle vehicle : fleet) {
-            String hash = vehicle.routeHash();
-            stringBuilder.append(hash);
+            hash = hash * 31 + vehicle.getFingerprint();
         }
-        return stringBuilder.toString();
+        return hash;
     }
 
     public void calculateVisitingTime() {
         for (Vehicle vehicle : fleet) {
-            vehicle.setCurrentTime((float) getDepotNode().getTimeStart());
-            for (int i = 1; i < vehicle.getRoute().size(); i++) {
-                float serviceTimeAtPreviousNode = vehicle.getRoute().get(i - 1).getServiceTime();
-                float travelTimeBetweenPreviousAndCurrentNode = getDistanceBetweenNode(vehicle.getRoute().get(i - 1), vehicle.getRoute().get(i));
+            vehicle.setCurrentTime(getDepotNode().getTimeStart());
+            for (int i = 1; i < vehicle.getRouteSize(); i++) {
+                float serviceTimeAtPreviousNode = vehicle.getNode(i - 1).getServiceTime();
+                float travelTimeBetweenPreviousAndCurrentNode = getDistanceBetweenNode(vehicle.getNode(i - 1), vehicle.getNode(i));
                 float currentTime = vehicle.getCurrentTime() + serviceTimeAtPreviousNode + travelTimeBetweenPreviousAndCurrentNode;
-                vehicle.getRoute().get(i).setVisitedAt(currentTime);
+                setVisitingTime(vehicle.getNode(i), currentTime);
             }
         }
     }
 
     public float getMaximumTravelDistance() {
-        float maxValue = 0;
-        for (Float[] floats : matrix) {
-            for (Float aFloat : floats) {
-                if (aFloat > maxValue) {
-                    maxValue = aFloat;
-                }
-            }
-        }
-        return maxValue;
+        return matrixStatistics.getMaximum();
     }
 }
@@ -0,0 +1,19 @@
+package data;
+
+/**
+ * Read-only view of the travel distances between the nodes of an instance, indexed by node id.
+ */
+public interface DistanceMatrix {
+
+    float getDistance(int from, int to);
+
+    int size();
+
+    /**
+     * @return - view of the same distances for one-off passes over every row, like building the matrix statistics,
+     * which bypasses the caches of the provider so the pass neither fills nor evicts them
+     */
+    default DistanceMatrix withoutCache() {
+        return this;
+    }
+}
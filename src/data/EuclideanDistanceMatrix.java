@@ -0,0 +1,112 @@
+package data;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Distance provider of Euclidean instances, the distances are computed from the node coordinates on demand instead of
+ * being stored in an n x n matrix. Optionally the rows which are read the most are cached: every node counts the reads
+ * of its row which missed the cache, and after enough misses the whole row is computed and stored in a slot of a
+ * bounded, direct-mapped cache. The cached rows are immutable, so the provider can be shared by the searches running
+ * on different threads.
+ */
+public class EuclideanDistanceMatrix implements DistanceMatrix {
+
+    /**
+     * Least number of cache misses after which a row is computed and cached, on larger instances a row has to miss a
+     * quarter of its length, so computing it costs at most four times the computations it saved.
+     */
+    private static final int MINIMUM_ROW_LOAD_THRESHOLD = 32;
+
+    private final int size;
+    private final int rowLoadThreshold;
+    private final float[] xCoordinates;
+    private final float[] yCoordinates;
+
+    /**
+     * Cached rows, row i can only be stored in slot i % cache length. Null if the cache is disabled.
+     */
+    private final AtomicReferenceArray<CachedRow> cache;
+
+    /**
+     * Cache misses of every row since it was last loaded. The counters are updated without synchronization, a lost
+     * update only delays the loading of a row.
+     */
+    private final int[] misses;
+
+    /**
+     * @param nodes      - nodes of the instance, ordered by id
+     * @param cachedRows - maximum number of cached rows, 0 disables the cache
+     */
+    public EuclideanDistanceMatrix(List<Node> nodes, int cachedRows) {
+        this.size = nodes.size();
+        this.rowLoadThreshold = Math.max(MINIMUM_ROW_LOAD_THRESHOLD, size / 4);
+        this.xCoordinates = new float[size];
+        this.yCoordinates = new float[size];
+        for (Node node : nodes) {
+            xCoordinates[node.getId()] = node.getCx();
+            yCoordinates[node.getId()] = node.getCy();
+        }
+        int slots = Math.min(cachedRows, size);
+        this.cache = slots > 0 ? new AtomicReferenceArray<>(slots) : null;
+        this.misses = slots > 0 ? new int[size] : null;
+    }
+
+    @Override
+    public float getDistance(int from, int to) {
+        if (cache == null) return computeDistance(from, to);
+        int slot = from % cache.length();
+        CachedRow cachedRow = cache.get(slot);
+        if (cachedRow != null && cachedRow.row == from) return cachedRow.distances[to];
+        if (++misses[from] < rowLoadThreshold) return computeDistance(from, to);
+        misses[from] = 0;
+        cachedRow = computeRow(from);
+        cache.set(slot, cachedRow);
+        return cachedRow.distances[to];
+    }
+
+    @Override
+    public DistanceMatrix withoutCache() {
+        if (cache == null) return this;
+        return new DistanceMatrix() {
+
+            @Override
+            public float getDistance(int from, int to) {
+                return computeDistance(from, to);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private float computeDistance(int from, int to) {
+        float dx = xCoordinates[from] - xCoordinates[to];
+        float dy = yCoordinates[from] - yCoordinates[to];
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private CachedRow computeRow(int row) {
+        float[] distances = new float[size];
+        for (int to = 0; to < size; to++) distances[to] = computeDistance(row, to);
+        return new CachedRow(row, distances);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static class CachedRow {
+
+        private final int row;
+        private final float[] distances;
+
+        private CachedRow(int row, float[] distances) {
+            this.row = row;
+            this.distances = distances;
+        }
+    }
+}
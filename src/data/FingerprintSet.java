@@ -0,0 +1,105 @@
+package data;
+
+/**
+ * Bounded set of 64 bit solution fingerprints stored in a primitive open addressing table with linear probing. When
+ * the bound is reached, the oldest fingerprint is evicted, so the memory and the lookup cost stay constant however
+ * long the search runs.
+ */
+public class FingerprintSet {
+
+    private static final long EMPTY = 0;
+
+    private final long[] table;
+    private final int mask;
+    private final long[] insertionOrder;
+    private final int bound;
+    private int oldest;
+    private int size;
+
+    public FingerprintSet(int bound) {
+        int capacity = Integer.highestOneBit(Math.max(bound, 1) * 2 - 1) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        this.insertionOrder = new long[Math.max(bound, 1)];
+        this.bound = Math.max(bound, 1);
+        this.oldest = 0;
+        this.size = 0;
+    }
+
+    public boolean contains(long fingerprint) {
+        fingerprint = normalize(fingerprint);
+        for (int slot = slot(fingerprint); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (table[slot] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param fingerprint - fingerprint to add
+     * @return - true if the fingerprint was not in the set yet, false otherwise
+     */
+    public boolean add(long fingerprint) {
+        fingerprint = normalize(fingerprint);
+        int slot = slot(fingerprint);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == fingerprint) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == bound) {
+            remove(insertionOrder[oldest]);
+            oldest = (oldest + 1) % bound;
+            size--;
+            // the removal may have shifted entries, so the free slot is searched again
+            slot = slot(fingerprint);
+            while (table[slot] != EMPTY) slot = (slot + 1) & mask;
+        }
+        table[slot] = fingerprint;
+        insertionOrder[(oldest + size) % bound] = fingerprint;
+        size++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes the fingerprint with backward shift deletion, which keeps every probe sequence unbroken without
+     * tombstones.
+     */
+    private void remove(long fingerprint) {
+        int slot = slot(fingerprint);
+        while (table[slot] != fingerprint) slot = (slot + 1) & mask;
+        int next = (slot + 1) & mask;
+        while (table[next] != EMPTY) {
+            int home = slot(table[next]);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table[slot] = table[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[slot] = EMPTY;
+    }
+
+    private int slot(long fingerprint) {
+        return (int) (mix(fingerprint) & mask);
+    }
+
+    private long normalize(long fingerprint) {
+        return fingerprint == EMPTY ? 1 : fingerprint;
+    }
+
+    /**
+     * The finalizer of the SplitMix64 generator, spreads the bits of the value evenly.
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
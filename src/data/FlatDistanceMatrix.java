@@ -0,0 +1,30 @@
+package data;
+
+/**
+ * Distance matrix stored in a single row-major primitive array, so a lookup is one index calculation without any
+ * pointer chasing or unboxing.
+ */
+public class FlatDistanceMatrix implements DistanceMatrix {
+
+    private final int size;
+    private final float[] distances;
+
+    public FlatDistanceMatrix(int size) {
+        this.size = size;
+        this.distances = new float[size * size];
+    }
+
+    @Override
+    public float getDistance(int from, int to) {
+        return distances[from * size + to];
+    }
+
+    public void setDistance(int from, int to, float distance) {
+        distances[from * size + to] = distance;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
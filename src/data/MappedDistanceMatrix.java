@@ -0,0 +1,34 @@
+package data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Distance matrix read straight from a (memory-mapped) buffer of little-endian floats in row-major order. The pages of
+ * a mapped file are loaded lazily by the operating system and shared through its page cache, so the solvers running
+ * on the same instance do not hold private copies of the matrix.
+ */
+public class MappedDistanceMatrix implements DistanceMatrix {
+
+    private final int size;
+    private final FloatBuffer distances;
+
+    public MappedDistanceMatrix(ByteBuffer buffer, int size) {
+        if ((long) size * size * Float.BYTES > buffer.remaining()) {
+            throw new IllegalArgumentException("The buffer holds less than " + size + " x " + size + " distances");
+        }
+        this.size = size;
+        this.distances = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    }
+
+    @Override
+    public float getDistance(int from, int to) {
+        return distances.get(from * size + to);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,105 @@
+package data;
+
+/**
+ * Immutable summary of a distance matrix, computed once when the instance is loaded and shared by every copy of the
+ * data object. Minimum and mean values are taken over the off-diagonal entries only.
+ */
+public class MatrixStatistics {
+
+    private final float maximum;
+    private final float minimum;
+    private final float mean;
+    private final int nearestK;
+    private final int[] nearestNeighbours;
+
+    /**
+     * @param matrix   - distance matrix of the instance
+     * @param nearestK - number of nearest neighbours stored for every node, 0 to store none
+     */
+    public MatrixStatistics(DistanceMatrix matrix, int nearestK) {
+        if (nearestK < 0) {
+            throw new IllegalArgumentException("Negative number of nearest neighbours: " + nearestK);
+        }
+        int size = matrix.size();
+        float maximum = 0, minimum = Float.MAX_VALUE;
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                float distance = matrix.getDistance(i, j);
+                if (distance > maximum) maximum = distance;
+                if (i == j) continue;
+                if (distance < minimum) minimum = distance;
+                sum += distance;
+            }
+        }
+        this.maximum = maximum;
+        this.minimum = size > 1 ? minimum : 0;
+        this.mean = size > 1 ? (float) (sum / ((long) size * (size - 1))) : 0;
+        this.nearestK = Math.min(nearestK, Math.max(size - 1, 0));
+        this.nearestNeighbours = new int[size * this.nearestK];
+        float[] nearestDistances = new float[this.nearestK];
+        for (int i = 0; i < size; i++) {
+            fillNearestNeighbours(matrix, i, nearestDistances);
+        }
+    }
+
+    /**
+     * Restores statistics computed earlier, e.g. stored in a binary instance file, without reading the matrix.
+     *
+     * @param nearestNeighbours - row-major table of the nearestK nearest node ids of every node
+     */
+    public MatrixStatistics(float maximum, float minimum, float mean, int nearestK, int[] nearestNeighbours) {
+        this.maximum = maximum;
+        this.minimum = minimum;
+        this.mean = mean;
+        this.nearestK = nearestK;
+        this.nearestNeighbours = nearestNeighbours;
+    }
+
+    /**
+     * Keeps the k closest nodes of the row in an ordered window using insertion, which is linear in the row length
+     * for the small k values used by the heuristics.
+     */
+    private void fillNearestNeighbours(DistanceMatrix matrix, int row, float[] nearestDistances) {
+        int offset = row * nearestK, found = 0;
+        if (nearestK == 0) return;
+        for (int j = 0; j < matrix.size(); j++) {
+            if (j == row) continue;
+            float distance = matrix.getDistance(row, j);
+            if (found == nearestK && distance >= nearestDistances[nearestK - 1]) continue;
+            int position = found < nearestK ? found++ : nearestK - 1;
+            while (position > 0 && nearestDistances[position - 1] > distance) {
+                nearestDistances[position] = nearestDistances[position - 1];
+                nearestNeighbours[offset + position] = nearestNeighbours[offset + position - 1];
+                position--;
+            }
+            nearestDistances[position] = distance;
+            nearestNeighbours[offset + position] = j;
+        }
+    }
+
+    public float getMaximum() {
+        return maximum;
+    }
+
+    public float getMinimum() {
+        return minimum;
+    }
+
+    public float getMean() {
+        return mean;
+    }
+
+    public int getNearestK() {
+        return nearestK;
+    }
+
+    /**
+     * @param nodeId - id of the node
+     * @param rank   - 0 for the closest node, nearestK - 1 for the farthest stored one
+     * @return - id of the rank-th nearest node
+     */
+    public int getNearestNeighbour(int nodeId, int rank) {
+        return nearestNeighbours[nodeId * nearestK + rank];
+    }
+}
@@ -94,6 +94,40 @@ public class NodeSwap {
         });
     }
 
+    /**
+     * @param vehicle - vehicle of the insertion
+     * @return - the insertion into the vehicle from the regret list, null if the node can not be inserted into it
+     */
+    public NodeSwap getRegretNodeSwap(Vehicle vehicle) {
+        for (NodeSwap regretNodeSwap : regretNodeSwapList) {
+            if (regretNodeSwap.getVehicle() == vehicle) return regretNodeSwap;
+        }
+        return null;
+    }
+
+    /**
+     * Updates an insertion of the regret list and moves it to its sorted position, the list ends up in the same order
+     * as if it was sorted again by sortRegretList.
+     *
+     * @param regretNodeSwap - insertion of the regret list
+     * @param index          - new position of the insertion
+     * @param value          - new value of the insertion
+     */
+    public void updateRegretNodeSwap(NodeSwap regretNodeSwap, int index, float value) {
+        regretNodeSwap.setIndex(index);
+        int comparison = Float.compare(value, regretNodeSwap.getValue());
+        regretNodeSwap.setValue(value);
+        if (comparison == 0) return;
+        regretNodeSwapList.remove(regretNodeSwap);
+        // the sort is stable, so the insertion stays behind the equal ones when it gets cheaper, and ahead of them otherwise
+        int position = 0;
+        while (position < regretNodeSwapList.size()
+                && Float.compare(regretNodeSwapList.get(position).getValue(), value) < (comparison < 0 ? 1 : 0)) {
+            position++;
+        }
+        regretNodeSwapList.add(position, regretNodeSwap);
+    }
+
     public float getRegretSum(int index) {
         float sum = 0;
         float bestValue = regretNodeSwapList.get(0).getValue();
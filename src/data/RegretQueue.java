@@ -0,0 +1,144 @@
+package data;
+
+/**
+ * Indexed binary heap of the nodes waiting for a regret insertion, the node with the highest priority is inserted
+ * next. The priority of a node is computed from its regret list, see NodeSwap: nodes with fewer feasible vehicles
+ * come first, then the ones with the larger regret over their best min(feasible vehicles, k) insertions, then the ones
+ * with the cheaper best insertion, and finally the ones added earlier. The priority is cached, so only the nodes whose
+ * regret list has changed have to be updated after an insertion.
+ */
+public class RegretQueue {
+
+    private final int k;
+    private final NodeSwap[] nodeSwaps;
+    private final int[] feasibleCounts;
+    private final float[] regrets;
+    private final float[] bestValues;
+
+    /**
+     * Slots of the queued nodes in heap order, and the position of every slot in the heap, -1 if it has been polled.
+     */
+    private final int[] heap;
+    private final int[] positions;
+    private int slotCount;
+    private int size;
+
+    /**
+     * @param capacity - maximum number of nodes
+     * @param k        - number of insertions the regret is computed over
+     */
+    public RegretQueue(int capacity, int k) {
+        this.k = k;
+        this.nodeSwaps = new NodeSwap[capacity];
+        this.feasibleCounts = new int[capacity];
+        this.regrets = new float[capacity];
+        this.bestValues = new float[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.slotCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @param nodeSwap - node swap object of the node holding its insertions in its regret list, sorted by value
+     * @return - slot of the node, used to update it
+     */
+    public int add(NodeSwap nodeSwap) {
+        int slot = slotCount++;
+        nodeSwaps[slot] = nodeSwap;
+        computePriority(slot);
+        heap[size] = slot;
+        positions[slot] = size;
+        siftUp(size++);
+        return slot;
+    }
+
+    /**
+     * @return - the node with the highest priority, which is removed from the queue
+     */
+    public NodeSwap poll() {
+        int slot = heap[0];
+        positions[slot] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return nodeSwaps[slot];
+    }
+
+    /**
+     * Recomputes the priority of a queued node after its regret list has been modified.
+     *
+     * @param slot - slot of the node
+     */
+    public void update(int slot) {
+        computePriority(slot);
+        siftDown(positions[slot]);
+        siftUp(positions[slot]);
+    }
+
+    public boolean contains(int slot) {
+        return positions[slot] >= 0;
+    }
+
+    public NodeSwap get(int slot) {
+        return nodeSwaps[slot];
+    }
+
+    /**
+     * @return - number of slots given out by add, polled ones included
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void computePriority(int slot) {
+        NodeSwap nodeSwap = nodeSwaps[slot];
+        feasibleCounts[slot] = Math.min(nodeSwap.getNumberOfFeasibleVehiclesToInsertInto(), k);
+        regrets[slot] = nodeSwap.getRegretSum(feasibleCounts[slot]);
+        bestValues[slot] = nodeSwap.getRegretNodeSwapList().get(0).getValue();
+    }
+
+    /**
+     * @return - true if the node in the first slot is inserted before the one in the second slot
+     */
+    private boolean precedes(int slot, int otherSlot) {
+        if (feasibleCounts[slot] != feasibleCounts[otherSlot]) return feasibleCounts[slot] < feasibleCounts[otherSlot];
+        if (regrets[slot] != regrets[otherSlot]) return regrets[slot] > regrets[otherSlot];
+        if (bestValues[slot] != bestValues[otherSlot]) return bestValues[slot] < bestValues[otherSlot];
+        return slot < otherSlot;
+    }
+
+    private void siftUp(int position) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!precedes(slot, heap[parent])) break;
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = slot;
+        positions[slot] = position;
+    }
+
+    private void siftDown(int position) {
+        int slot = heap[position];
+        while (2 * position + 1 < size) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && precedes(heap[child + 1], heap[child])) child++;
+            if (!precedes(heap[child], slot)) break;
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = slot;
+        positions[slot] = position;
+    }
+}
@@ -0,0 +1,99 @@
+package data;
+
+import java.util.List;
+
+/**
+ * Cache of the forward and backward schedule information of a route, which makes checking whether a node can be
+ * inserted at a given position a constant time operation instead of rescanning the whole route. It gives the same
+ * answer as inserting the node and validating the route from its start.
+ */
+public class RouteSlack {
+
+    private int size;
+    private boolean feasible;
+    private float[] startTimes;
+    private float[] latestArrivals;
+    private float[] segmentLoads;
+
+    public RouteSlack() {
+        this.startTimes = new float[0];
+        this.latestArrivals = new float[0];
+        this.segmentLoads = new float[0];
+    }
+
+    /**
+     * Recalculates the cache for the current route of the vehicle.
+     *
+     * @param vehicle - vehicle whose route is cached
+     * @param matrix  - distance matrix of the data object
+     */
+    public void update(Vehicle vehicle, DistanceMatrix matrix) {
+        List<Node> route = vehicle.getRoute();
+        size = route.size();
+        if (startTimes.length < size) {
+            startTimes = new float[size];
+            latestArrivals = new float[size];
+            segmentLoads = new float[size];
+        }
+        feasible = size > 0 && size <= vehicle.getMaximumNumberOfStopsToVisit();
+        if (!feasible) return;
+
+        float currentTime = route.get(0).getTimeStart(), load = 0;
+        startTimes[0] = currentTime;
+        segmentLoads[0] = 0;
+        for (int i = 1; i < size; i++) {
+            Node previousNode = route.get(i - 1), currentNode = route.get(i);
+            float arrivalTime = currentTime + previousNode.getServiceTime() + matrix.getDistance(previousNode.getId(), currentNode.getId());
+            if (currentNode.isDumpingSite()) {
+                load = 0;
+            } else if (!currentNode.isDepot()) {
+                load += currentNode.getQuantity();
+            }
+            if (load > vehicle.getMaximumCapacity() || arrivalTime > currentNode.getTimeEnd()) {
+                feasible = false;
+                return;
+            }
+            currentTime = Math.max(arrivalTime, currentNode.getTimeStart());
+            startTimes[i] = currentTime;
+            segmentLoads[i] = load;
+        }
+
+        // segmentLoads[i] becomes the load at the end of the segment (between two disposals) which contains i
+        latestArrivals[size - 1] = route.get(size - 1).getTimeEnd();
+        for (int i = size - 2; i >= 0; i--) {
+            Node currentNode = route.get(i), nextNode = route.get(i + 1);
+            if (!nextNode.isDumpingSite()) {
+                segmentLoads[i] = segmentLoads[i + 1];
+            }
+            float latestStart = latestArrivals[i + 1] - currentNode.getServiceTime() - matrix.getDistance(currentNode.getId(), nextNode.getId());
+            latestArrivals[i] = currentNode.getTimeStart() > latestStart
+                    ? Float.NEGATIVE_INFINITY
+                    : Math.min(currentNode.getTimeEnd(), latestStart);
+        }
+    }
+
+    /**
+     * Checks whether the node can be inserted before the index-th node of the cached route.
+     *
+     * @param vehicle - vehicle whose route is cached
+     * @param matrix  - distance matrix of the data object
+     * @param node    - customer node to insert
+     * @param index   - position of the insertion, between 1 and the size of the route - 1
+     * @return - true if the route would remain valid after the insertion, false otherwise
+     */
+    public boolean isInsertionFeasible(Vehicle vehicle, DistanceMatrix matrix, Node node, int index) {
+        if (!feasible || size + 1 > vehicle.getMaximumNumberOfStopsToVisit()) {
+            return false;
+        }
+        if (segmentLoads[index - 1] + node.getQuantity() > vehicle.getMaximumCapacity()) {
+            return false;
+        }
+        Node previousNode = vehicle.getNode(index - 1), nextNode = vehicle.getNode(index);
+        float arrivalTime = startTimes[index - 1] + previousNode.getServiceTime() + matrix.getDistance(previousNode.getId(), node.getId());
+        if (arrivalTime > node.getTimeEnd()) {
+            return false;
+        }
+        float startTime = Math.max(arrivalTime, node.getTimeStart());
+        return startTime + node.getServiceTime() + matrix.getDistance(node.getId(), nextNode.getId()) <= latestArrivals[index];
+    }
+}
@@ -1,26 +1,64 @@
 package data;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 public class Vehicle {
 
-    private Integer type;
+    private int type;
     private Node departureNode;
     private Node arrivalNode;
-    private Float capacity;
-    private Integer maximumNumberOfStopsToVisit;
-    private List<Node> route;
-    private Float currentTime;
+    private float capacity;
+    private int maximumNumberOfStopsToVisit;
+    private float currentTime;
 
-    private Integer maximumCapacity;
-    private Integer id;
-    private Boolean penaltyVehicle;
-    private List<Float> arrivalTimes;
+    private int maximumCapacity;
+    private int id;
+    private boolean penaltyVehicle;
+
+    /**
+     * The route is stored as the ids of its nodes, with the arrival time at every node in the parallel array. Only the
+     * first routeSize elements are used, the rest is the spare capacity of the arrays.
+     */
+    private int[] route;
+    private float[] arrivalTimes;
+    private int routeSize;
+
+    /**
+     * Nodes of the instance, ordered by id, used to resolve the ids of the route. Set by the first insertion.
+     */
+    private List<Node> nodeList;
+    private boolean routeShared;
+    private RouteSlack routeSlack;
+    private boolean routeSlackOutdated;
+    private long fingerprint;
+    private boolean fingerprintOutdated;
+    private double travelDistance;
+    private boolean travelDistanceOutdated;
+    private int customerCount;
+    private boolean customerCountOutdated;
+
+    /**
+     * Range of the route whose arrival times are outdated, every modification of the route extends it. Beyond its end
+     * the arrival times are recalculated only until they match the stored ones, the range is empty if from is larger
+     * than to.
+     */
+    private int arrivalTimesOutdatedFrom;
+    private int arrivalTimesOutdatedTo;
 
     public Vehicle() {
-        this.route = new ArrayList<>();
-        this.arrivalTimes = new ArrayList<>();
+        this.route = new int[0];
+        this.arrivalTimes = new float[0];
+        this.routeShared = false;
+        this.routeSlackOutdated = true;
+        this.fingerprintOutdated = true;
+        this.travelDistanceOutdated = true;
+        this.customerCountOutdated = true;
+        this.arrivalTimesOutdatedFrom = Integer.MAX_VALUE;
+        this.arrivalTimesOutdatedTo = 0;
     }
 
     public Vehicle(Vehicle vehicle) {
@@ -29,55 +67,293 @@ public class Vehicle {
         this.arrivalNode = vehicle.getArrivalNode();
         this.capacity = vehicle.getCapacity();
         this.maximumNumberOfStopsToVisit = vehicle.getMaximumNumberOfStopsToVisit();
-        this.route = new ArrayList<>();
-        for (Node node : vehicle.getRoute()) {
-            Node copiedNode = new Node(node);
-            this.route.add(copiedNode);
-        }
+        this.route = vehicle.route;
+        this.arrivalTimes = vehicle.arrivalTimes;
+        this.routeSize = vehicle.routeSize;
+        this.nodeList = vehicle.nodeList;
         this.currentTime = vehicle.getCurrentTime();
         this.maximumCapacity = vehicle.getMaximumCapacity();
         this.id = vehicle.getId();
         this.penaltyVehicle = vehicle.isPenaltyVehicle();
-        this.arrivalTimes = new ArrayList<>();
-        for (Float arrivalTime : vehicle.getArrivalTimes()) {
-            this.arrivalTimes.add(arrivalTime.floatValue());
+        this.routeShared = true;
+        if (!vehicle.routeShared) {
+            vehicle.routeShared = true;
         }
+        this.routeSlackOutdated = true;
+        this.fingerprint = vehicle.fingerprint;
+        this.fingerprintOutdated = vehicle.fingerprintOutdated;
+        this.travelDistance = vehicle.travelDistance;
+        this.travelDistanceOutdated = vehicle.travelDistanceOutdated;
+        this.customerCount = vehicle.customerCount;
+        this.customerCountOutdated = vehicle.customerCountOutdated;
+        this.arrivalTimesOutdatedFrom = vehicle.arrivalTimesOutdatedFrom;
+        this.arrivalTimesOutdatedTo = vehicle.arrivalTimesOutdatedTo;
+    }
+
+    /**
+     * The route and the arrival times are shared between a vehicle and its copies until one of them modifies them, so
+     * copying a solution only costs as much as the routes which are changed afterwards.
+     */
+    private void copyRouteIfShared() {
+        if (routeShared) {
+            this.route = Arrays.copyOf(route, route.length);
+            this.arrivalTimes = Arrays.copyOf(arrivalTimes, arrivalTimes.length);
+            this.routeShared = false;
+        }
+    }
+
+    /**
+     * Makes room for one more node at the end of the arrays, doubling their capacity if they are full.
+     */
+    private void ensureCapacity() {
+        copyRouteIfShared();
+        if (routeSize == route.length) {
+            int capacity = Math.max(8, 2 * route.length);
+            this.route = Arrays.copyOf(route, capacity);
+            this.arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+        }
+    }
+
+    public boolean isRouteShared() {
+        return routeShared;
     }
 
     public boolean isEmpty() {
-        for (Node node : route) {
-            if (node.customerNode()) {
-                return false;
+        if (customerCountOutdated) {
+            customerCount = 0;
+            for (int i = 0; i < routeSize; i++) {
+                if (nodeList.get(route[i]).customerNode()) customerCount++;
             }
+            customerCountOutdated = false;
         }
-        return true;
+        return customerCount == 0;
     }
 
-    public List<Float> getArrivalTimes() {
-        return arrivalTimes;
+    /**
+     * @return - read-only view of the route, it follows the later modifications of the route
+     */
+    public List<Node> getRoute() {
+        return new RouteView();
     }
 
-    public List<Node> getRoute() {
-        return route;
+    public int getRouteSize() {
+        return routeSize;
+    }
+
+    public Node getNode(int index) {
+        return nodeList.get(route[Objects.checkIndex(index, routeSize)]);
+    }
+
+    public int getNodeId(int index) {
+        return route[Objects.checkIndex(index, routeSize)];
+    }
+
+    public float getArrivalTime(int index) {
+        return arrivalTimes[Objects.checkIndex(index, routeSize)];
+    }
+
+    public void setArrivalTime(int index, float arrivalTime) {
+        Objects.checkIndex(index, routeSize);
+        copyRouteIfShared();
+        arrivalTimes[index] = arrivalTime;
+        arrivalTimesChanged(index, index + 1);
+    }
+
+    public boolean hasOutdatedArrivalTimes() {
+        return arrivalTimesOutdatedFrom < routeSize;
+    }
+
+    private void arrivalTimesChanged(int from, int to) {
+        arrivalTimesOutdatedFrom = Math.min(arrivalTimesOutdatedFrom, from);
+        arrivalTimesOutdatedTo = Math.max(arrivalTimesOutdatedTo, to);
+    }
+
+    /**
+     * Recalculates the arrival times from the first modified position of the route. After the last modified position
+     * the propagation stops at the first node whose arrival time is unchanged, because the waiting for its time window
+     * absorbed the change, so the rest of the route is already up-to-date.
+     *
+     * @param data - data object (graph) to work with
+     */
+    public void updateArrivalTimes(Data data) {
+        if (!hasOutdatedArrivalTimes()) return;
+        copyRouteIfShared();
+        DistanceMatrix matrix = data.getMatrix();
+        int from = arrivalTimesOutdatedFrom;
+        if (from == 0) {
+            arrivalTimes[0] = getNode(0).getTimeStart();
+            from = 1;
+        }
+        Node previousNode = from < routeSize ? getNode(from - 1) : null;
+        for (int i = from; i < routeSize; i++) {
+            Node currentNode = nodeList.get(route[i]);
+            float arrivalTime = Math.max(arrivalTimes[i - 1] + previousNode.getServiceTime() + matrix.getDistance(route[i - 1], route[i]), currentNode.getTimeStart());
+            if (i >= arrivalTimesOutdatedTo && arrivalTime == arrivalTimes[i]) break;
+            arrivalTimes[i] = arrivalTime;
+            previousNode = currentNode;
+        }
+        arrivalTimesOutdatedFrom = Integer.MAX_VALUE;
+        arrivalTimesOutdatedTo = 0;
     }
 
-    public Boolean isPenaltyVehicle() {
+    /**
+     * Inserts the node before the index-th node of the route and updates the travel distance of the route with the
+     * difference of the changed edges, and the node locations of the data object. The arrival times of the following
+     * nodes are shifted with them, the arrival time of the inserted node is 0 until updateArrivalTimes is called.
+     *
+     * @param data  - data object (graph) to work with
+     * @param index - position of the insertion
+     * @param node  - node to insert
+     */
+    public void insertNode(Data data, int index, Node node) {
+        Objects.checkIndex(index, routeSize + 1);
+        ensureCapacity();
+        if (nodeList == null) nodeList = data.getNodeList();
+        if (!travelDistanceOutdated && !penaltyVehicle) {
+            DistanceMatrix matrix = data.getMatrix();
+            if (index > 0) travelDistance += matrix.getDistance(route[index - 1], node.getId());
+            if (index < routeSize) travelDistance += matrix.getDistance(node.getId(), route[index]);
+            if (index > 0 && index < routeSize) {
+                travelDistance -= matrix.getDistance(route[index - 1], route[index]);
+            }
+        }
+        if (node.customerNode()) customerCount++;
+        System.arraycopy(route, index, route, index + 1, routeSize - index);
+        System.arraycopy(arrivalTimes, index, arrivalTimes, index + 1, routeSize - index);
+        route[index] = node.getId();
+        arrivalTimes[index] = 0;
+        routeSize++;
+        if (arrivalTimesOutdatedTo > index) arrivalTimesOutdatedTo++;
+        arrivalTimesChanged(index, index + 1);
+        routeSlackOutdated = true;
+        fingerprintOutdated = true;
+        data.nodeLocationsChanged(this, index, null);
+    }
+
+    /**
+     * Removes the index-th node of the route and updates the travel distance of the route with the difference of the
+     * changed edges, and the node locations of the data object. The arrival time of the node is removed with it, the
+     * following ones are outdated until updateArrivalTimes is called.
+     *
+     * @param data  - data object (graph) to work with
+     * @param index - position of the node to remove
+     * @return - the removed node
+     */
+    public Node removeNode(Data data, int index) {
+        Node node = getNode(index);
+        copyRouteIfShared();
+        if (!travelDistanceOutdated && !penaltyVehicle) {
+            DistanceMatrix matrix = data.getMatrix();
+            boolean hasPrevious = index > 0, hasNext = index < routeSize - 1;
+            if (hasPrevious) travelDistance -= matrix.getDistance(route[index - 1], node.getId());
+            if (hasNext) travelDistance -= matrix.getDistance(node.getId(), route[index + 1]);
+            if (hasPrevious && hasNext) {
+                travelDistance += matrix.getDistance(route[index - 1], route[index + 1]);
+            }
+        }
+        if (node.customerNode()) customerCount--;
+        System.arraycopy(route, index + 1, route, index, routeSize - index - 1);
+        System.arraycopy(arrivalTimes, index + 1, arrivalTimes, index, routeSize - index - 1);
+        routeSize--;
+        if (arrivalTimesOutdatedTo > index) arrivalTimesOutdatedTo--;
+        arrivalTimesChanged(index, index);
+        routeSlackOutdated = true;
+        fingerprintOutdated = true;
+        data.nodeLocationsChanged(this, index, node);
+        return node;
+    }
+
+    /**
+     * Replaces the index-th node of the route, the travel distance and the node locations are updated like by
+     * insertNode and removeNode, the arrival time at the position is kept.
+     *
+     * @param data  - data object (graph) to work with
+     * @param index - position of the node to replace
+     * @param node  - the new node of the position
+     * @return - the replaced node
+     */
+    public Node setNode(Data data, int index, Node node) {
+        Node replacedNode = getNode(index);
+        copyRouteIfShared();
+        if (!travelDistanceOutdated && !penaltyVehicle) {
+            DistanceMatrix matrix = data.getMatrix();
+            if (index > 0) {
+                travelDistance += matrix.getDistance(route[index - 1], node.getId()) - matrix.getDistance(route[index - 1], replacedNode.getId());
+            }
+            if (index < routeSize - 1) {
+                travelDistance += matrix.getDistance(node.getId(), route[index + 1]) - matrix.getDistance(replacedNode.getId(), route[index + 1]);
+            }
+        }
+        if (replacedNode.customerNode()) customerCount--;
+        if (node.customerNode()) customerCount++;
+        route[index] = node.getId();
+        arrivalTimesChanged(index, index + 1);
+        routeSlackOutdated = true;
+        fingerprintOutdated = true;
+        data.nodeLocationsChanged(this, index, replacedNode);
+        return replacedNode;
+    }
+
+    /**
+     * Appends the node to the end of the route, see insertNode.
+     *
+     * @param data        - data object (graph) to work with
+     * @param node        - node to append
+     * @param arrivalTime - arrival time at the node
+     */
+    public void addNode(Data data, Node node, float arrivalTime) {
+        insertNode(data, routeSize, node);
+        arrivalTimes[routeSize - 1] = arrivalTime;
+    }
+
+    /**
+     * Checks whether the node can be inserted before the index-th node of the route without modifying it. The slack
+     * cache of the route is rebuilt only if the route has been modified since the last check.
+     *
+     * @param data  - data object (graph) to work with
+     * @param node  - customer node to insert
+     * @param index - position of the insertion
+     * @return - true if the route would remain valid after the insertion, false otherwise
+     */
+    public boolean isInsertionFeasible(Data data, Node node, int index) {
+        prepareInsertionChecks(data);
+        return routeSlack.isInsertionFeasible(this, data.getMatrix(), node, index);
+    }
+
+    /**
+     * Fills the lazily computed caches read by the insertion checks, after which the checks do not modify the vehicle,
+     * so they can run on several threads as long as the route is not modified.
+     *
+     * @param data - data object (graph) to work with
+     */
+    public void prepareInsertionChecks(Data data) {
+        if (routeSlack == null) {
+            routeSlack = new RouteSlack();
+        }
+        if (routeSlackOutdated) {
+            routeSlack.update(this, data.getMatrix());
+            routeSlackOutdated = false;
+        }
+        isEmpty();
+    }
+
+    public boolean isPenaltyVehicle() {
         return penaltyVehicle;
     }
 
-    public void setPenaltyVehicle(Boolean penaltyVehicle) {
+    public void setPenaltyVehicle(boolean penaltyVehicle) {
         this.penaltyVehicle = penaltyVehicle;
     }
 
-    public Integer getMaximumCapacity() {
+    public int getMaximumCapacity() {
         return maximumCapacity;
     }
 
-    public void setMaximumCapacity(Integer maximumCapacity) {
+    public void setMaximumCapacity(int maximumCapacity) {
         this.maximumCapacity = maximumCapacity;
     }
 
-    public void setType(Integer type) {
+    public void setType(int type) {
         this.type = type;
     }
 
@@ -89,15 +365,15 @@ public class Vehicle {
         this.arrivalNode = arrivalNode;
     }
 
-    public void setCapacity(Float capacity) {
+    public void setCapacity(float capacity) {
         this.capacity = capacity;
     }
 
-    public void setMaximumNumberOfStopsToVisit(Integer maximumNumberOfStopsToVisit) {
+    public void setMaximumNumberOfStopsToVisit(int maximumNumberOfStopsToVisit) {
         this.maximumNumberOfStopsToVisit = maximumNumberOfStopsToVisit;
     }
 
-    public Integer getType() {
+    public int getType() {
         return type;
     }
 
@@ -109,27 +385,27 @@ public class Vehicle {
         return arrivalNode;
     }
 
-    public Float getCapacity() {
+    public float getCapacity() {
         return capacity;
     }
 
-    public Integer getMaximumNumberOfStopsToVisit() {
+    public int getMaximumNumberOfStopsToVisit() {
         return maximumNumberOfStopsToVisit;
     }
 
-    public Float getCurrentTime() {
+    public float getCurrentTime() {
         return currentTime;
     }
 
-    public void setCurrentTime(Float currentTime) {
+    public void setCurrentTime(float currentTime) {
         this.currentTime = currentTime;
     }
 
-    public void setId(Integer id) {
+    public void setId(int id) {
         this.id = id;
     }
 
-    public Integer getId() {
+    public int getId() {
         return id;
     }
 
@@ -139,25 +415,63 @@ public class Vehicle {
         setPenaltyVehicle(false);
     }
 
+    /**
+     * Travel distance of the route, the cost of the vehicle in the objective. It is kept up-to-date by insertNode and
+     * removeNode, recalculated only when it is first read, and copies of the vehicle inherit it.
+     *
+     * @param data - data object (graph) to work with
+     * @return - the travel distance of the route, 0 if the vehicle serves no customer
+     */
     public float calculateTravelDistance(Data data) {
         if (penaltyVehicle) {
-            return (2 * data.getMaximumTravelDistance()) * route.size();
+            return (2 * data.getMaximumTravelDistance()) * routeSize;
         }
         if (isEmpty()) return 0;
-        float travelDistance = 0;
-        for (int i = 1; i < route.size(); i++) {
-            float travelDistanceBetweenNodes = data.getDistanceBetweenNode(route.get(i - 1), route.get(i));
-            travelDistance += travelDistanceBetweenNodes;
+        if (travelDistanceOutdated) {
+            DistanceMatrix matrix = data.getMatrix();
+            travelDistance = 0;
+            int previousId = route[0];
+            for (int i = 1; i < routeSize; i++) {
+                int currentId = route[i];
+                travelDistance += matrix.getDistance(previousId, currentId);
+                previousId = currentId;
+            }
+            travelDistanceOutdated = false;
         }
-        return travelDistance;
+        return (float) travelDistance;
     }
 
-    public String routeHash() {
-        StringBuilder stringBuilder = new StringBuilder();
-        for (Node node : route) {
-            String hash = Integer.toHexString(node.getId());
-            stringBuilder.append(hash);
+    /**
+     * Fingerprint of the route, the sum of a hashed key of every edge of the route together with the vehicle. It is
+     * cached until the route is modified, and copies of the vehicle inherit it, so only changed routes are rehashed.
+     *
+     * @return - 64 bit fingerprint of the route
+     */
+    public long getFingerprint() {
+        if (fingerprintOutdated) {
+            long vehicleKey = penaltyVehicle ? -1 : id;
+            long hash = 0;
+            int previousId = -1;
+            for (int i = 0; i < routeSize; i++) {
+                hash += FingerprintSet.mix((vehicleKey << 42) ^ ((long) (previousId + 1) << 21) ^ route[i]);
+                previousId = route[i];
+            }
+            fingerprint = hash;
+            fingerprintOutdated = false;
+        }
+        return fingerprint;
+    }
+
+    private class RouteView extends AbstractList<Node> implements RandomAccess {
+
+        @Override
+        public Node get(int index) {
+            return getNode(index);
+        }
+
+        @Override
+        public int size() {
+            return routeSize;
         }
-        return stringBuilder.toString();
     }
 }
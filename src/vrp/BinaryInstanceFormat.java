@@ -0,0 +1,221 @@
+package vrp;
+
+import data.Data;
+import data.DistanceMatrix;
+import data.MappedDistanceMatrix;
+import data.MatrixStatistics;
+import data.Node;
+import data.Vehicle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary form of an instance, written once from a parsed text instance and loaded by memory-mapping the
+ * file. Every value is little-endian:
+ * <pre>
+ * header     magic, version, node count, vehicle count, matrix size, nearest k (ints),
+ *            maximum, minimum, mean distance (floats), dataset and info (int length + UTF-8 bytes)
+ * nodes      cx, cy, quantity, time start, time end, service time (floats), flags (int, 1: depot, 2: dumping site)
+ * vehicles   type, departure node, arrival node, maximum capacity, maximum number of stops (ints)
+ * neighbours nearest k node ids of every node (ints)
+ * matrix     matrix size * matrix size distances (floats, row-major), starting at a 64 byte aligned offset
+ * </pre>
+ * The matrix statistics are stored as well, so loading an instance reads only the small tables, and the pages of the
+ * matrix are loaded by the operating system when the solver first touches them.
+ */
+public final class BinaryInstanceFormat {
+
+    /**
+     * "VRPB" in the byte order of the file.
+     */
+    private static final int MAGIC = 0x42505256;
+
+    private static final int VERSION = 1;
+
+    private static final int MATRIX_ALIGNMENT = 64;
+
+    private static final int DEPOT_FLAG = 1;
+    private static final int DUMPING_SITE_FLAG = 2;
+
+    /**
+     * Number of distances written at once.
+     */
+    private static final int MATRIX_CHUNK = 1 << 14;
+
+    private BinaryInstanceFormat() {
+    }
+
+    /**
+     * Writes the data object into a binary instance file.
+     *
+     * @param data - parsed data object (graph) to write, it has to be unsolved
+     * @param path - path of the binary file
+     * @throws IOException - if the file can not be written
+     */
+    public static void write(Data data, Path path) throws IOException {
+        DistanceMatrix matrix = data.getMatrix();
+        MatrixStatistics matrixStatistics = data.getMatrixStatistics();
+        int size = matrix.size();
+        int nearestK = matrixStatistics.getNearestK();
+        byte[] dataset = data.getDataset().getBytes(StandardCharsets.UTF_8);
+        byte[] info = data.getInfo().getBytes(StandardCharsets.UTF_8);
+        int tablesLength = 9 * Integer.BYTES
+                + Integer.BYTES + dataset.length
+                + Integer.BYTES + info.length
+                + data.getNodeListSize() * 7 * Integer.BYTES
+                + data.getFleet().size() * 5 * Integer.BYTES
+                + size * nearestK * Integer.BYTES;
+        int matrixOffset = align(tablesLength);
+
+        ByteBuffer tables = ByteBuffer.allocate(matrixOffset).order(ByteOrder.LITTLE_ENDIAN);
+        tables.putInt(MAGIC).putInt(VERSION)
+                .putInt(data.getNodeListSize()).putInt(data.getFleet().size()).putInt(size).putInt(nearestK)
+                .putFloat(matrixStatistics.getMaximum()).putFloat(matrixStatistics.getMinimum()).putFloat(matrixStatistics.getMean());
+        tables.putInt(dataset.length).put(dataset);
+        tables.putInt(info.length).put(info);
+        for (Node node : data.getNodeList()) {
+            tables.putFloat(node.getCx()).putFloat(node.getCy()).putFloat(node.getQuantity())
+                    .putFloat(node.getTimeStart()).putFloat(node.getTimeEnd()).putFloat(node.getServiceTime())
+                    .putInt((node.isDepot() ? DEPOT_FLAG : 0) | (node.isDumpingSite() ? DUMPING_SITE_FLAG : 0));
+        }
+        for (Vehicle vehicle : data.getFleet()) {
+            tables.putInt(vehicle.getType()).putInt(vehicle.getDepartureNode().getId()).putInt(vehicle.getArrivalNode().getId())
+                    .putInt(vehicle.getMaximumCapacity()).putInt(vehicle.getMaximumNumberOfStopsToVisit());
+        }
+        for (int i = 0; i < size; i++) {
+            for (int rank = 0; rank < nearestK; rank++) tables.putInt(matrixStatistics.getNearestNeighbour(i, rank));
+        }
+        tables.clear();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, tables);
+            ByteBuffer chunk = ByteBuffer.allocate(MATRIX_CHUNK * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    if (!chunk.hasRemaining()) {
+                        chunk.flip();
+                        writeFully(channel, chunk);
+                        chunk.clear();
+                    }
+                    chunk.putFloat(matrix.getDistance(i, j));
+                }
+            }
+            chunk.flip();
+            writeFully(channel, chunk);
+        }
+    }
+
+    /**
+     * Loads a binary instance file. The tables are copied into the data object, while the distance matrix stays in
+     * the mapped file.
+     *
+     * @param path - path of the binary file
+     * @return - the loaded data object
+     * @throws IOException - if the file can not be read or it is not a binary instance file
+     */
+    public static Data read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(9 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a binary instance file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported version " + version);
+            }
+            int nodeCount = header.getInt();
+            int vehicleCount = header.getInt();
+            int size = header.getInt();
+            int nearestK = header.getInt();
+            float maximum = header.getFloat();
+            float minimum = header.getFloat();
+            float mean = header.getFloat();
+
+            long matrixLength = (long) size * size * Float.BYTES;
+            if (matrixLength > Integer.MAX_VALUE) {
+                throw new IOException(path + " has a matrix larger than 2 GB");
+            }
+            long matrixOffset = channel.size() - matrixLength;
+            if (matrixOffset < header.capacity() || matrixOffset % MATRIX_ALIGNMENT != 0) {
+                throw new IOException(path + " is truncated");
+            }
+
+            MappedByteBuffer tables = channel.map(FileChannel.MapMode.READ_ONLY, 0, matrixOffset);
+            tables.order(ByteOrder.LITTLE_ENDIAN).position(header.capacity());
+            Data data = new Data();
+            data.setDataset(getString(tables));
+            data.setInfo(getString(tables));
+            for (int i = 0; i < nodeCount; i++) {
+                float cx = tables.getFloat(), cy = tables.getFloat(), quantity = tables.getFloat();
+                float timeStart = tables.getFloat(), timeEnd = tables.getFloat(), serviceTime = tables.getFloat();
+                int flags = tables.getInt();
+                data.addNode(new Node(i, cx, cy, quantity, timeStart, timeEnd, serviceTime,
+                        (flags & DEPOT_FLAG) != 0, (flags & DUMPING_SITE_FLAG) != 0));
+            }
+            for (int i = 0; i < vehicleCount; i++) {
+                Vehicle vehicle = new Vehicle();
+                vehicle.setType(tables.getInt());
+                vehicle.setDepartureNode(data.getNodeOnIndex(tables.getInt()));
+                vehicle.setArrivalNode(data.getNodeOnIndex(tables.getInt()));
+                vehicle.setMaximumCapacity(tables.getInt());
+                vehicle.setMaximumNumberOfStopsToVisit(tables.getInt());
+                vehicle.setId(i);
+                data.addVehicle(vehicle);
+            }
+            int[] nearestNeighbours = new int[size * nearestK];
+            tables.asIntBuffer().get(nearestNeighbours);
+
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer matrix = channel.map(FileChannel.MapMode.READ_ONLY, matrixOffset, matrixLength);
+            data.setMatrix(new MappedDistanceMatrix(matrix, size));
+            data.setMatrixStatistics(new MatrixStatistics(maximum, minimum, mean, nearestK, nearestNeighbours));
+            return data;
+        }
+    }
+
+    /**
+     * @param path - path of an instance file
+     * @return - true if the file starts like a binary instance file, false otherwise
+     */
+    public static boolean isBinaryInstance(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // reading the first four bytes
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int align(int offset) {
+        return (offset + MATRIX_ALIGNMENT - 1) / MATRIX_ALIGNMENT * MATRIX_ALIGNMENT;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+}
@@ -0,0 +1,1113 @@
+package vrp;
+
+import data.*;
+
+import javax.xml.crypto.NodeSetData;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * This class hold all the heuristics which are used during the optimizing process.
+ * All the heuristics are implemented from "An Adaptive Large Neighborhood Search Heuristic for the Pickup and Delivery
+ * Problem with Time Windows" by Stefan Ropke, David Pisinger. The heuristics will not contain any substantive
+ * information, instead the appropriate chapter in the study.
+ */
+public class Heuristics {
+
+    /**
+     * Random object for random number generation.
+     */
+    private final Random random;
+
+    /**
+     * Solver object for the used methods.
+     */
+    private final Solver solver;
+
+    /**
+     * Constant object for the constants which are used by the heuristics.
+     */
+    private final Constants CONSTANTS;
+
+    /**
+     * Time spent on the feasibility checks of the running insertion method, measured in debug mode only.
+     */
+    private final LongAdder insertionCheckNanoTime;
+    private boolean measureInsertionChecks;
+
+    /**
+     * Scratch arrays of the destroy methods, reused between the calls so the destroy methods do not allocate once they
+     * have grown to the size of the instance. Every solver has its own heuristics, so they are never shared between
+     * threads.
+     */
+    private int[] scratchIds;
+    private int[] scratchIndices;
+    private float[] scratchValues;
+    private long[] scratchKeys;
+
+    public Heuristics(Solver solver, Random random) {
+        this.random = random;
+        this.solver = solver;
+        this.CONSTANTS = new Constants();
+        this.insertionCheckNanoTime = new LongAdder();
+        this.scratchIds = new int[0];
+        this.scratchIndices = new int[0];
+        this.scratchValues = new float[0];
+        this.scratchKeys = new long[0];
+    }
+
+    /**
+     * Sums up the incoming float values for calculation possibility values
+     *
+     * @param floats - input values
+     * @return - returns the sum of the values
+     */
+    public float sum(float... floats) {
+        float sum = 0;
+        for (float num : floats) {
+            sum += num;
+        }
+        return sum;
+    }
+
+    /**
+     * Deleting a random disposal from a random vehicle's route
+     *
+     * @param data        - data object (graph) to work with
+     * @param nodesToSwap - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param logger      - logger object
+     */
+    private void deleteDisposal(Data data, List<Node> nodesToSwap, Logger logger) {
+
+        if (logger.isDebugEnabled()) logger.debug("deleteDisposal started at: " + LocalTime.now());
+        long startNanoTime = System.nanoTime();
+
+        List<Vehicle> fleet = data.getFleet();
+        int numberOfCandidates = 0;
+        for (Vehicle vehicle : fleet) {
+            if (vehicle.isEmpty()) continue;
+            int dumpingSites = countDumpingSites(vehicle);
+            if (dumpingSites > 1) {
+                numberOfCandidates += dumpingSites;
+            }
+        }
+        if (numberOfCandidates == 0) {
+            return;
+        }
+
+        // the disposal sites of the feasible vehicles, as fleet index and route position, in route order
+        ensureScratchCapacity(numberOfCandidates);
+        int[] vehicleIndices = scratchIds;
+        int[] positions = scratchIndices;
+        numberOfCandidates = 0;
+        for (int v = 0; v < fleet.size(); v++) {
+            Vehicle vehicle = fleet.get(v);
+            if (vehicle.isEmpty() || countDumpingSites(vehicle) <= 1) continue;
+            for (int i = 0; i < vehicle.getRouteSize(); i++) {
+                if (vehicle.getNode(i).isDumpingSite()) {
+                    vehicleIndices[numberOfCandidates] = v;
+                    positions[numberOfCandidates] = i;
+                    numberOfCandidates++;
+                }
+            }
+        }
+
+        int randomIndex = random.nextInt(numberOfCandidates);
+        Vehicle vehicle = fleet.get(vehicleIndices[randomIndex]);
+        int dumpingSiteIndex = positions[randomIndex];
+
+        if (vehicle.getNode(dumpingSiteIndex + 1).isDepot()) {
+            vehicle.removeNode(data, dumpingSiteIndex);
+            Node currentNode = vehicle.getNode(dumpingSiteIndex - 1);
+            while (!currentNode.isDumpingSite()) {
+                nodesToSwap.add(currentNode);
+                vehicle.removeNode(data, dumpingSiteIndex - 1);
+                dumpingSiteIndex--;
+                currentNode = vehicle.getNode(dumpingSiteIndex - 1);
+            }
+        } else {
+            // the disposal site is not the last one of the route, so the next candidate is the next one of the vehicle
+            int maximumCapacity = vehicle.getMaximumCapacity();
+            boolean firstOfVehicle = randomIndex == 0 || vehicleIndices[randomIndex - 1] != vehicleIndices[randomIndex];
+            int startingIndex = firstOfVehicle ? 1 : positions[randomIndex - 1] + 1;
+            int endIndex = positions[randomIndex + 1];
+            float overallQuantity = 0;
+            for (int i = startingIndex; i < endIndex; i++) {
+                Node node = vehicle.getNode(i);
+                if (!node.isDumpingSite()) {
+                    overallQuantity += node.getQuantity();
+                }
+            }
+            vehicle.removeNode(data, dumpingSiteIndex);
+            int numberOfNodesRemoved = 0;
+            while (overallQuantity > maximumCapacity) {
+                Node currentNode = vehicle.getNode(dumpingSiteIndex - 1);
+                overallQuantity -= currentNode.getQuantity();
+                nodesToSwap.add(currentNode);
+                vehicle.removeNode(data, dumpingSiteIndex - 1);
+                numberOfNodesRemoved++;
+                if (numberOfNodesRemoved % 2 == 0) {
+                    dumpingSiteIndex--;
+                }
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("deleteDisposal ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+        }
+    }
+
+    /**
+     * Swapping to random disposal's places in the route of a random vehicle
+     *
+     * @param data        - data object (graph) to work with
+     * @param nodesToSwap - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param logger      - logger object
+     */
+    private void swapDisposal(Data data, List<Node> nodesToSwap, Logger logger) {
+        if (logger.isDebugEnabled()) logger.debug("swapDisposal started at: " + LocalTime.now());
+        long startNanoTime = System.nanoTime();
+
+        List<Integer> disposalSites = data.getDumpingSites();
+        if (disposalSites.size() == 1) {
+            return;
+        }
+        List<Vehicle> fleet = data.getFleet();
+        int numberOfCandidates = 0;
+        for (Vehicle vehicle : fleet) if (!vehicle.isEmpty()) numberOfCandidates += countDumpingSites(vehicle);
+
+        // the disposal sites of the non-empty vehicles, as fleet index and route position, in route order
+        ensureScratchCapacity(numberOfCandidates);
+        int[] vehicleIndices = scratchIds;
+        int[] positions = scratchIndices;
+        numberOfCandidates = 0;
+        for (int v = 0; v < fleet.size(); v++) {
+            Vehicle vehicle = fleet.get(v);
+            if (vehicle.isEmpty()) continue;
+            for (int i = 0; i < vehicle.getRouteSize(); i++) {
+                if (vehicle.getNode(i).isDumpingSite()) {
+                    vehicleIndices[numberOfCandidates] = v;
+                    positions[numberOfCandidates] = i;
+                    numberOfCandidates++;
+                }
+            }
+        }
+
+        int randomIndex = random.nextInt(numberOfCandidates);
+        Vehicle vehicle = fleet.get(vehicleIndices[randomIndex]);
+        int dumpingSiteIndex = positions[randomIndex];
+        Node dumpingSite = vehicle.getNode(dumpingSiteIndex);
+
+        // random disposal site other than the current one, the current one is skipped in the list of disposal sites
+        int swapIndex = random.nextInt(disposalSites.size() - 1);
+        for (int i = 0; i <= swapIndex; i++) {
+            if (disposalSites.get(i) == dumpingSite.getId()) {
+                swapIndex++;
+                break;
+            }
+        }
+        Node disposalSiteToSwapWith = data.getNodeOnIndex(disposalSites.get(swapIndex));
+
+        // only customers are removed, so the number of other nodes before the disposal site does not change
+        int otherNodesBefore = 0;
+        for (int i = 0; i < dumpingSiteIndex; i++) if (!vehicle.getNode(i).customerNode()) otherNodesBefore++;
+
+        // the copy shares the route until it is modified, it is only read if the swap has to be undone
+        Vehicle originalVehicle = new Vehicle(vehicle);
+        int numberOfRemovedNodes = nodesToSwap.size();
+
+        vehicle.setNode(data, dumpingSiteIndex, disposalSiteToSwapWith);
+        if (removeLateCustomers(data, vehicle, dumpingSiteIndex, nodesToSwap) >= 0) {
+            // every customer before the disposal site has been removed, but the route is still late, so the original
+            // disposal site is put back
+            vehicle.setNode(data, otherNodesBefore, dumpingSite);
+            if (removeLateCustomers(data, vehicle, otherNodesBefore, nodesToSwap) >= 0) {
+                // the original disposal site is late as well without the customers, so the move is undone
+                restoreRemovedNodes(data, vehicle, originalVehicle);
+                nodesToSwap.subList(numberOfRemovedNodes, nodesToSwap.size()).clear();
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("swapDisposal ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+        }
+    }
+
+    /**
+     * Inserting a random disposal from a random vehicle's route
+     *
+     * @param data        - data object (graph) to work with
+     * @param nodesToSwap - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param logger      - logger object
+     */
+    private void insertDisposal(Data data, List<Node> nodesToSwap, Logger logger) {
+        if (logger.isDebugEnabled()) logger.debug("inertDisposal started at: " + LocalTime.now());
+        long startNanoTime = System.nanoTime();
+
+        List<Vehicle> fleet = data.getFleet();
+        int numberOfFeasibleVehicles = 0;
+        for (Vehicle vehicle : fleet)
+            if (canInsertDisposal(vehicle)) numberOfFeasibleVehicles++;
+        if (numberOfFeasibleVehicles == 0) {
+            return;
+        }
+        int randomIndex = random.nextInt(numberOfFeasibleVehicles);
+        Vehicle vehicleToInsertInto = null;
+        for (Vehicle vehicle : fleet) {
+            if (canInsertDisposal(vehicle) && randomIndex-- == 0) {
+                vehicleToInsertInto = vehicle;
+                break;
+            }
+        }
+
+        List<Integer> disposalSites = data.getDumpingSites();
+        randomIndex = random.nextInt(disposalSites.size());
+        Node disposalSiteToInsert = data.getNodeOnIndex(disposalSites.get(randomIndex));
+
+        int index = vehicleToInsertInto.getRouteSize() - 1;
+        vehicleToInsertInto.insertNode(data, index, disposalSiteToInsert);
+        if (removeLateCustomers(data, vehicleToInsertInto, index, nodesToSwap) >= 0) {
+            // every customer of the route has been removed, but the route is still late, so the disposal site, which is
+            // still the last node before the depot, is removed as well
+            vehicleToInsertInto.removeNode(data, vehicleToInsertInto.getRouteSize() - 2);
+            solver.updateArrivalTimesForVehicle(vehicleToInsertInto, data);
+        }
+
+        if (logger.isDebugEnabled()) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("insertDisposal ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+        }
+    }
+
+    /**
+     * See section 3.1.1.
+     *
+     * @param data        - data object (graph) to work with
+     * @param p           - parameter
+     * @param nodesToSwap - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param phi         - parameter
+     * @param chi         - parameter
+     * @param psi         - parameter
+     * @param P           - parameter
+     * @param logger      - logger object
+     */
+    private void relatedRemoval(Data data, int p, List<Node> nodesToSwap,
+                                float phi, float chi, float psi, int P, Logger logger) {
+
+        if (logger.isDebugEnabled()) logger.debug("relatedRemoval started at: " + LocalTime.now());
+        long startNanoTime = System.nanoTime();
+
+        randomRemoval(data, 1, nodesToSwap, logger);
+
+        ensureScratchCapacity(data.getNodeListSize());
+        int[] nodeIds = scratchIds;
+        long[] keys = scratchKeys;
+        int randomIndex, numberOfCandidates;
+
+        while (nodesToSwap.size() < p) {
+            randomIndex = nodesToSwap.size() == 0 ? 0 : random.nextInt(nodesToSwap.size());
+            Node nodeToCompare = nodesToSwap.get(randomIndex);
+            data.calculateVisitingTime();
+
+            numberOfCandidates = 0;
+            for (Vehicle vehicle : data.getFleet()) {
+                if (vehicle.isEmpty()) continue;
+                for (int i = 0; i < vehicle.getRouteSize(); i++) {
+                    Node node = vehicle.getNode(i);
+                    if (node.isDepot() || node.isDumpingSite()) continue;
+                    float relatedness = phi * data.getDistanceBetweenNode(nodeToCompare, node)
+                            + chi * Math.abs(data.getVisitingTime(nodeToCompare) - data.getVisitingTime(node))
+                            + psi * Math.abs(nodeToCompare.getQuantity() - node.getQuantity());
+                    nodeIds[numberOfCandidates] = node.getId();
+                    keys[numberOfCandidates] = selectionKey(relatedness, numberOfCandidates, false);
+                    numberOfCandidates++;
+                }
+            }
+            if (numberOfCandidates == 0) {
+                break;
+            }
+
+            double y = random.nextDouble();
+            int index = (int) (Math.pow(y, P) * numberOfCandidates);
+
+            Node nodeToRemove = data.getNodeOnIndex(nodeIds[selectCandidate(keys, numberOfCandidates, index)]);
+            nodesToSwap.add(nodeToRemove);
+            data.getVehicleOfNode(nodeToRemove).removeNode(data, data.getPositionOfNode(nodeToRemove));
+        }
+
+        if (logger.isDebugEnabled()) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("relatedRemoval ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+        }
+
+    }
+
+    /**
+     * See section 3.1.2.
+     *
+     * @param data        - data object (graph) to work with
+     * @param p           - parameter
+     * @param nodesToSwap - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param logger      - logger object
+     */
+    private void randomRemoval(Data data, int p, List<Node> nodesToSwap, Logger logger) {
+        if (logger.isDebugEnabled()) logger.debug("randomRemoval started at: " + LocalTime.now());
+        long startNanoTime = System.nanoTime();
+
+        ensureScratchCapacity(data.getNodeListSize());
+        int[] nodeIds = scratchIds;
+        int numberOfFeasibleNodesToRemove = 0, index;
+        for (Node node : data.getNodeList())
+            if (!node.isDepot() && !node.isDumpingSite()) nodeIds[numberOfFeasibleNodesToRemove++] = node.getId();
+
+        while (nodesToSwap.size() < p && numberOfFeasibleNodesToRemove > 0) {
+            index = random.nextInt(numberOfFeasibleNodesToRemove);
+            Node nodeToRemove = data.getNodeOnIndex(nodeIds[index]);
+            // every node is drawn at most once, the drawn one is replaced by the last candidate
+            nodeIds[index] = nodeIds[--numberOfFeasibleNodesToRemove];
+            Vehicle vehicle = data.getVehicleOfNode(nodeToRemove);
+            if (vehicle != null) {
+                nodesToSwap.add(nodeToRemove);
+                vehicle.removeNode(data, data.getPositionOfNode(nodeToRemove));
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("randomRemoval ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+        }
+    }
+
+    /**
+     * See section 3.1.3.
+     *
+     * @param data        - data object (graph) to work with
+     * @param p           - parameter
+     * @param nodesToSwap - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param p_worst     - parameter
+     * @param logger      - logger object
+     */
+    private void worstRemoval(Data data, int p, List<Node> nodesToSwap, int p_worst, Logger logger) {
+        if (logger.isDebugEnabled()) logger.debug("worstRemoval started at: " + LocalTime.now());
+        long startNanoTime = System.nanoTime();
+
+        float currentValue, initialValue = solver.getDataValue(data);
+        int indexToRemoveFrom;
+        Node nodeToRemove;
+        Vehicle vehicleToRemoveFrom;
+
+        // candidates in scan order: node id (-1 once removed) and value, and the candidate of every node
+        ensureScratchCapacity(data.getNodeListSize());
+        int[] nodeIds = scratchIds;
+        float[] values = scratchValues;
+        int[] candidateOfNode = scratchIndices;
+        long[] keys = scratchKeys;
+        int numberOfCandidates = 0;
+
+        for (Vehicle vehicle : data.getFleet()) {
+            if (vehicle.isEmpty() || vehicle.isPenaltyVehicle()) {
+                continue;
+            }
+            for (int i = 0; i < vehicle.getRouteSize(); i++) {
+                Node node = vehicle.getNode(i);
+                if (!node.isDepot() && !node.isDumpingSite()) {
+                    Node previousNode = vehicle.getNode(i - 1);
+                    Node nextNode = vehicle.getNode(i + 1);
+
+                    float distanceBetweenNodesBeforeRemoval = data.getDistanceBetweenNode(previousNode, node) + data.getDistanceBetweenNode(node, nextNode);
+                    float distanceBetweenNodesAfterRemoval = data.getDistanceBetweenNode(previousNode, nextNode);
+
+                    currentValue = initialValue - distanceBetweenNodesBeforeRemoval + distanceBetweenNodesAfterRemoval;
+
+                    nodeIds[numberOfCandidates] = node.getId();
+                    values[numberOfCandidates] = currentValue;
+                    candidateOfNode[node.getId()] = numberOfCandidates;
+                    numberOfCandidates++;
+                }
+            }
+        }
+
+        while (nodesToSwap.size() < p) {
+
+            int numberOfKeys = 0;
+            for (int c = 0; c < numberOfCandidates; c++)
+                if (nodeIds[c] >= 0) keys[numberOfKeys++] = selectionKey(values[c], c, true);
+            if (numberOfKeys == 0) {
+                break;
+            }
+
+            double y = random.nextDouble();
+            int index = (int) (Math.pow(y, p_worst) * numberOfKeys);
+
+            int candidate = selectCandidate(keys, numberOfKeys, index);
+            nodeToRemove = data.getNodeOnIndex(nodeIds[candidate]);
+            nodeIds[candidate] = -1;
+            vehicleToRemoveFrom = data.getVehicleOfNode(nodeToRemove);
+            indexToRemoveFrom = data.getPositionOfNode(nodeToRemove);
+            vehicleToRemoveFrom.removeNode(data, indexToRemoveFrom);
+            nodesToSwap.add(nodeToRemove);
+
+            Node previousNode = vehicleToRemoveFrom.getNode(indexToRemoveFrom - 1);
+            if (!previousNode.isDepot() && !previousNode.isDumpingSite()) {
+                float distanceBeforeRemoval_ = data.getDistanceBetweenNode(previousNode, nodeToRemove);
+                float distanceAfterRemoval_ = data.getDistanceBetweenNode(previousNode, vehicleToRemoveFrom.getNode(indexToRemoveFrom));
+                currentValue = initialValue - distanceBeforeRemoval_ + distanceAfterRemoval_;
+
+                int previousCandidate = candidateOfNode[previousNode.getId()];
+                if (currentValue > values[previousCandidate]) {
+                    values[previousCandidate] = currentValue;
+                }
+            }
+
+            Node nextNode = vehicleToRemoveFrom.getNode(indexToRemoveFrom);
+            if (!nextNode.isDepot() && !nextNode.isDumpingSite()) {
+                float distanceBeforeRemoval_ = data.getDistanceBetweenNode(nodeToRemove, nextNode);
+                float distanceAfterRemoval_ = data.getDistanceBetweenNode(vehicleToRemoveFrom.getNode(indexToRemoveFrom - 1), nextNode);
+                currentValue = initialValue - distanceBeforeRemoval_ + distanceAfterRemoval_;
+
+                int nextCandidate = candidateOfNode[nextNode.getId()];
+                if (currentValue > values[nextCandidate]) {
+                    values[nextCandidate] = currentValue;
+                }
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("worstRemoval ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+        }
+    }
+
+    /**
+     * @param vehicle - vehicle to check
+     * @return - true if a disposal site can be inserted into the route of the vehicle without exceeding its stops
+     */
+    private boolean canInsertDisposal(Vehicle vehicle) {
+        return !vehicle.isEmpty() && !vehicle.isPenaltyVehicle()
+                && vehicle.getRouteSize() < vehicle.getMaximumNumberOfStopsToVisit();
+    }
+
+    /**
+     * Puts the removed nodes of a route back to their original positions. Nodes are only removed from the route, so its
+     * remaining nodes are in the same order as in the original one.
+     *
+     * @param data            - data object (graph) to work with
+     * @param vehicle         - vehicle whose route has been modified
+     * @param originalVehicle - copy of the vehicle made before the modification
+     */
+    private void restoreRemovedNodes(Data data, Vehicle vehicle, Vehicle originalVehicle) {
+        for (int i = 0; i < originalVehicle.getRouteSize(); i++) {
+            if (i == vehicle.getRouteSize() || vehicle.getNodeId(i) != originalVehicle.getNodeId(i)) {
+                vehicle.insertNode(data, i, originalVehicle.getNode(i));
+            }
+        }
+        solver.updateArrivalTimesForVehicle(vehicle, data);
+    }
+
+    /**
+     * Recalculates the arrival times of the route after a disposal site has been changed in it, then removes the
+     * customers which are reached after the end of their time window, starting from the given position. If a disposal
+     * site or the depot is reached too late, the last customer before it is removed.
+     *
+     * @param data        - data object (graph) to work with
+     * @param vehicle     - vehicle whose route has been modified
+     * @param fromIndex   - first position of the route which may be reached too late
+     * @param nodesToSwap - list of the removed nodes, the removed customers are added to it
+     * @return - position of a node still reached too late because there is no customer left before it to remove, -1
+     * if the route is valid
+     */
+    private int removeLateCustomers(Data data, Vehicle vehicle, int fromIndex, List<Node> nodesToSwap) {
+        solver.updateArrivalTimesForVehicle(vehicle, data);
+        for (int i = fromIndex; i < vehicle.getRouteSize(); i++) {
+            if (vehicle.getArrivalTime(i) <= vehicle.getNode(i).getTimeEnd()) continue;
+            int removedIndex = i;
+            while (removedIndex > 0 && !vehicle.getNode(removedIndex).customerNode()) removedIndex--;
+            if (removedIndex == 0) {
+                return i;
+            }
+            nodesToSwap.add(vehicle.getNode(removedIndex));
+            vehicle.removeNode(data, removedIndex);
+            solver.updateArrivalTimesForVehicle(vehicle, data);
+            // the nodes before the removed one are not affected
+            i = removedIndex - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @param vehicle - vehicle to check
+     * @return - number of disposal sites in the route of the vehicle
+     */
+    private int countDumpingSites(Vehicle vehicle) {
+        int dumpingSites = 0;
+        for (int i = 0; i < vehicle.getRouteSize(); i++) {
+            if (vehicle.getNode(i).isDumpingSite()) {
+                dumpingSites++;
+            }
+        }
+        return dumpingSites;
+    }
+
+    /**
+     * Grows the scratch arrays of the destroy methods to hold at least the given number of elements. Their content is
+     * not kept, so they have to be grown before they are filled.
+     *
+     * @param size - number of elements needed
+     */
+    private void ensureScratchCapacity(int size) {
+        if (scratchIds.length >= size) {
+            return;
+        }
+        scratchIds = new int[size];
+        scratchIndices = new int[size];
+        scratchValues = new float[size];
+        scratchKeys = new long[size];
+    }
+
+    /**
+     * Packs a value and the position of its candidate into a key, the keys are ordered by the value like Float.compare
+     * does (descending if asked), and by the position among equal values, just like a stable sort would.
+     *
+     * @param value      - value of the candidate
+     * @param position   - position of the candidate in the scratch arrays
+     * @param descending - true if the largest value has to come first
+     * @return - key of the candidate
+     */
+    private static long selectionKey(float value, int position, boolean descending) {
+        int bits = Float.floatToIntBits(value);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        if (descending) bits = ~bits;
+        return ((long) bits << 32) | position;
+    }
+
+    /**
+     * Quickselect over the keys with a median of three pivot, so the random number generator is not used. The keys
+     * are reordered.
+     *
+     * @param keys - keys built by selectionKey
+     * @param size - number of keys in use
+     * @param rank - rank of the key to find, 0 is the first one
+     * @return - position of the candidate with the given rank
+     */
+    private static int selectCandidate(long[] keys, int size, int rank) {
+        int left = 0, right = size - 1;
+        while (left < right) {
+            long a = keys[left], b = keys[(left + right) >>> 1], c = keys[right];
+            long pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+            int i = left, j = right;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) {
+                    long key = keys[i];
+                    keys[i++] = keys[j];
+                    keys[j--] = key;
+                }
+            }
+            if (rank <= j) right = j;
+            else if (rank >= i) left = i;
+            else break;
+        }
+        return (int) keys[rank];
+    }
+
+    /**
+     * See section 3.3.
+     *
+     * @param data             - data object (graph) to work with
+     * @param p                - parameter
+     * @param nodesToSwap      - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param heuristicWeights - the current weights of the heuristics based on the output of the past period
+     * @param logger           - logger object
+     */
+    public void destroyNodes(Data data, int p, List<Node> nodesToSwap, HeuristicWeights heuristicWeights, Logger logger) {
+        long destroyStart = System.nanoTime();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Destroying nodes started at: " + LocalTime.now());
+            logger.debug("Removing " + p + " nodes");
+        }
+
+        float sumOf = heuristicWeights.sumOfDestroy();
+        float worstWeight = heuristicWeights.getWorstRemovalWeight() / sumOf;
+        float randomWeight = heuristicWeights.getRandomRemovalWeight() / sumOf;
+        float relatedWeight = heuristicWeights.getRelatedRemovalWeight() / sumOf;
+        float deleteWeight = heuristicWeights.getDeleteDisposalWeight() / sumOf;
+        float swapWeight = heuristicWeights.getSwapDisposalWeight() / sumOf;
+        float insertWeight = heuristicWeights.getInsertDisposalWeight() / sumOf;
+        double randomValue = random.nextDouble();
+
+        if (randomValue < worstWeight) {
+            heuristicWeights.setCurrentRemove(1);
+            logger.debug("Destroy method: worstRemoval");
+            worstRemoval(data, p, nodesToSwap, CONSTANTS.getP_WORST(), logger);
+        } else if (randomValue < worstWeight + randomWeight) {
+            heuristicWeights.setCurrentRemove(2);
+            logger.debug("Destroy method: randomRemoval");
+            randomRemoval(data, p, nodesToSwap, logger);
+        } else if (randomValue < sum(worstWeight, randomWeight, relatedWeight)) {
+            heuristicWeights.setCurrentRemove(3);
+            logger.debug("Destroy method: relatedRemoval");
+            relatedRemoval(data, p, nodesToSwap, CONSTANTS.getPHI(), CONSTANTS.getCHI(), CONSTANTS.getPSI(), CONSTANTS.getP(), logger);
+        } else if (randomValue < sum(worstWeight, randomWeight, relatedWeight, deleteWeight)) {
+            heuristicWeights.setCurrentRemove(4);
+            logger.debug("Destroy method: deleteDisposal");
+            deleteDisposal(data, nodesToSwap, logger);
+        } else if (randomValue < sum(worstWeight, randomWeight, relatedWeight, deleteWeight, swapWeight)) {
+            heuristicWeights.setCurrentRemove(5);
+            logger.debug("Destroy method: swapDisposal");
+            swapDisposal(data, nodesToSwap, logger);
+        } else if (randomValue < sum(worstWeight, randomWeight, relatedWeight, deleteWeight, swapWeight, insertWeight)) {
+            heuristicWeights.setCurrentRemove(6);
+            logger.debug("Destroy method: insertDisposal");
+            insertDisposal(data, nodesToSwap, logger);
+        }
+        if (solver.isVerification()) {
+            solver.verifySolution(data, "after destroy method " + heuristicWeights.getCurrentRemove(), false);
+        }
+
+        if (logger.isDebugEnabled()) {
+            long destroyEnd = System.nanoTime();
+            logger.debug("Destroying nodes ended at: " + LocalTime.now() + ", took " + ((destroyEnd - destroyStart) * 1e-9) + " seconds");
+        }
+    }
+
+    /**
+     * Finds the cheapest feasible position of the node in the route of the vehicle. In granular mode only the positions
+     * next to a candidate of the node, a depot or a dumping site are evaluated, see CandidateLists.
+     *
+     * @param data         - data object (graph) to work with
+     * @param vehicle      - vehicle to insert into, it can not be the penalty vehicle
+     * @param node         - customer node to insert
+     * @param initialValue - value of the data object before the insertion
+     * @param granular     - if set to true, only the candidate positions are evaluated
+     * @return - the best insertion, or null if the node can not be inserted into the route
+     */
+    private NodeSwap findBestInsertion(Data data, Vehicle vehicle, Node node, float initialValue, boolean granular) {
+        CandidateLists candidateLists = data.getCandidateLists();
+        NodeSwap bestNodeSwap = null;
+        float bestDiff = Float.MAX_VALUE, currentValue, diff;
+        for (int i = 1; i < vehicle.getRouteSize() - 1; i++) {
+            float previousNodeArrivalTime = vehicle.getArrivalTime(i - 1);
+            Node previousNode = vehicle.getNode(i - 1);
+            Node nextNode = vehicle.getNode(i);
+            float serviceTimeAtPreviousNode = previousNode.getServiceTime();
+            float travelDistance = data.getDistanceBetweenNode(previousNode, node);
+            float arrivalTimeAtNode = previousNodeArrivalTime + serviceTimeAtPreviousNode + travelDistance;
+
+            if (arrivalTimeAtNode > node.getTimeEnd()) {
+                break;
+            }
+
+            if (node.getTimeStart() > nextNode.getTimeEnd()) {
+                continue;
+            }
+
+            if (granular && !candidateLists.isCandidatePosition(node, previousNode, nextNode)) {
+                continue;
+            }
+
+            float distanceBetweenNodesToInsert = data.getDistanceBetweenNode(previousNode, nextNode);
+            float distanceBetweenNodesAfterInsert = data.getDistanceBetweenNode(previousNode, node) + data.getDistanceBetweenNode(node, nextNode);
+            long startNano = measureInsertionChecks ? System.nanoTime() : 0;
+            boolean valid = vehicle.isInsertionFeasible(data, node, i);
+            if (measureInsertionChecks) insertionCheckNanoTime.add(System.nanoTime() - startNano);
+
+            if (valid) {
+                currentValue = initialValue - distanceBetweenNodesToInsert + distanceBetweenNodesAfterInsert;
+                diff = currentValue - initialValue;
+                if (diff < bestDiff) {
+                    bestDiff = diff;
+                    bestNodeSwap = new NodeSwap(node, vehicle, diff, i, true);
+                }
+            }
+        }
+        return bestNodeSwap;
+    }
+
+    /**
+     * @return - true if the insertion of the node is evaluated at the given position
+     */
+    private boolean isCandidatePosition(Data data, Node node, Node previousNode, Node nextNode) {
+        return data.getCandidateLists() == null || data.getCandidateLists().isCandidatePosition(node, previousNode, nextNode);
+    }
+
+    /**
+     * Finds the cheapest insertion of the node over the whole fleet, the penalty vehicle included. If granular
+     * insertion can only put the node into the penalty vehicle, every position is evaluated again.
+     *
+     * @param data         - data object (graph) to work with
+     * @param node         - customer node to insert
+     * @param initialValue - value of the data object before the insertion
+     * @return - the best insertion
+     */
+    private NodeSwap findBestGreedyInsertion(Data data, Node node, float initialValue) {
+        boolean granular = data.getCandidateLists() != null;
+        NodeSwap bestNodeSwap = findBestGreedyInsertion(data, node, initialValue, granular);
+        if (granular && bestNodeSwap.getVehicle().isPenaltyVehicle() && CONSTANTS.isGRANULAR_FALLBACK()) {
+            bestNodeSwap = findBestGreedyInsertion(data, node, initialValue, false);
+        }
+        return bestNodeSwap;
+    }
+
+    private NodeSwap findBestGreedyInsertion(Data data, Node node, float initialValue, boolean granular) {
+        float diff, bestDiff = Float.MAX_VALUE;
+        NodeSwap bestNodeSwap = null;
+        boolean checkedEmptyVehicle = false;
+        for (Vehicle vehicle : data.getFleet()) {
+            if (vehicle.isPenaltyVehicle()) {
+                diff = 2 * data.getMaximumTravelDistance();
+                if (diff < bestDiff) {
+                    bestDiff = diff;
+                    bestNodeSwap = new NodeSwap(node, vehicle, diff, vehicle.getRouteSize(), true);
+                }
+                continue;
+            }
+            if (checkedEmptyVehicle && vehicle.isEmpty()) continue;
+            checkedEmptyVehicle = vehicle.isEmpty();
+            NodeSwap nodeSwap = findBestInsertion(data, vehicle, node, initialValue, granular);
+            if (nodeSwap != null && nodeSwap.getValue() < bestDiff) {
+                bestDiff = nodeSwap.getValue();
+                bestNodeSwap = nodeSwap;
+            }
+        }
+        return bestNodeSwap;
+    }
+
+    /**
+     * Collects the best insertion of the node into every vehicle for the regret heuristics, sorted by value. If
+     * granular insertion can only put the node into the penalty vehicle, every position is evaluated again.
+     *
+     * @param data         - data object (graph) to work with
+     * @param node         - customer node to insert
+     * @param initialValue - value of the data object before the insertion
+     * @return - node swap object holding the insertions in its regret list
+     */
+    private NodeSwap evaluateRegretInsertions(Data data, Node node, float initialValue) {
+        boolean granular = data.getCandidateLists() != null;
+        NodeSwap customerNodeSwap = evaluateRegretInsertions(data, node, initialValue, granular);
+        if (granular && onlyPenaltyVehicleLeft(customerNodeSwap) && CONSTANTS.isGRANULAR_FALLBACK()) {
+            customerNodeSwap = evaluateRegretInsertions(data, node, initialValue, false);
+        }
+        return customerNodeSwap;
+    }
+
+    private NodeSwap evaluateRegretInsertions(Data data, Node node, float initialValue, boolean granular) {
+        NodeSwap customerNodeSwap = new NodeSwap(node);
+        boolean checkedEmptyVehicle = false;
+        for (Vehicle vehicle : data.getFleet()) {
+            if (vehicle.isPenaltyVehicle()) {
+                float diff = 2 * data.getMaximumTravelDistance();
+                customerNodeSwap.getRegretNodeSwapList().add(new NodeSwap(node, vehicle, diff, vehicle.getRouteSize(), true));
+                continue;
+            }
+            if (checkedEmptyVehicle) continue;
+            checkedEmptyVehicle = vehicle.isEmpty();
+            NodeSwap currentNodeSwap = findBestInsertion(data, vehicle, node, initialValue, granular);
+            if (currentNodeSwap != null) {
+                customerNodeSwap.getRegretNodeSwapList().add(currentNodeSwap);
+            }
+        }
+        customerNodeSwap.sortRegretList();
+        return customerNodeSwap;
+    }
+
+    /**
+     * Evaluates the insertions of every node for the greedy or the regret heuristics. The evaluations are independent,
+     * so from PARALLEL_INSERTION_THRESHOLD nodes they run on the common ForkJoinPool. The routes are not modified
+     * meanwhile and their insertion check caches are filled beforehand, so the tasks only read the data object.
+     *
+     * @param data         - data object (graph) to work with
+     * @param nodes        - customer nodes to insert
+     * @param initialValue - value of the data object before the insertions
+     * @param regret       - if set to true, the regret lists of the nodes are evaluated, otherwise their best insertion
+     * @return - the evaluation of every node, in the order of the nodes
+     */
+    private NodeSwap[] evaluateInsertions(Data data, List<Node> nodes, float initialValue, boolean regret) {
+        NodeSwap[] nodeSwaps = new NodeSwap[nodes.size()];
+        IntFunction<NodeSwap> evaluation = regret
+                ? i -> evaluateRegretInsertions(data, nodes.get(i), initialValue)
+                : i -> findBestGreedyInsertion(data, nodes.get(i), initialValue);
+        int threshold = CONSTANTS.getPARALLEL_INSERTION_THRESHOLD();
+        if (threshold > 0 && nodes.size() >= threshold && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            for (Vehicle vehicle : data.getFleet()) {
+                if (!vehicle.isPenaltyVehicle()) vehicle.prepareInsertionChecks(data);
+            }
+            Arrays.parallelSetAll(nodeSwaps, evaluation);
+        } else {
+            Arrays.setAll(nodeSwaps, evaluation);
+        }
+        return nodeSwaps;
+    }
+
+    private boolean onlyPenaltyVehicleLeft(NodeSwap customerNodeSwap) {
+        for (NodeSwap nodeSwap : customerNodeSwap.getRegretNodeSwapList()) {
+            if (!nodeSwap.getVehicle().isPenaltyVehicle()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * See section 3.2.2. The nodes waiting for insertion are kept in a RegretQueue, after an insertion only the
+     * insertions into the modified route are evaluated again.
+     *
+     * @param data        - data object (graph) to work with
+     * @param nodesToSwap - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param p           - parameter
+     * @param logger      - logger object
+     */
+    private void regretInsert(Data data, List<Node> nodesToSwap, int p, Logger logger) {
+
+        long startNanoTime = System.nanoTime();
+        if (logger.isDebugEnabled()) logger.debug("regretInsert_" + (p == 2 || p == 3 ? p : "k") + " started at: " + LocalTime.now());
+
+        float initialValue = solver.getDataValue(data);
+        int indexToInsert;
+        boolean debug = logger.isDebugEnabled();
+        boolean granular = data.getCandidateLists() != null;
+        Node nodeToInsert;
+        Vehicle vehicleToInsertInto, penaltyVehicle = data.getPenaltyVehicle();
+        measureInsertionChecks = debug;
+        insertionCheckNanoTime.reset();
+
+        solver.verifySolution(data, "at the start of regretInsert", false);
+
+        RegretQueue regretQueue = new RegretQueue(nodesToSwap.size(), p);
+        for (NodeSwap nodeSwap : evaluateInsertions(data, nodesToSwap, initialValue, true)) {
+            regretQueue.add(nodeSwap);
+        }
+
+        solver.verifySolution(data, "after the regret values are calculated", false);
+
+        while (!regretQueue.isEmpty()) {
+
+            NodeSwap bestNodeSwap = regretQueue.poll();
+            NodeSwap bestInsertion = bestNodeSwap.getRegretNodeSwapList().get(0);
+            vehicleToInsertInto = bestInsertion.getVehicle();
+            nodeToInsert = bestInsertion.getNode();
+            indexToInsert = bestInsertion.getIndex();
+
+            if (bestInsertion.isFoundVehicleForNodeToInsert()) {
+                vehicleToInsertInto.insertNode(data, indexToInsert, nodeToInsert);
+                solver.updateArrivalTimesForVehicle(vehicleToInsertInto, data);
+            } else {
+                penaltyVehicle.insertNode(data, indexToInsert, nodeToInsert);
+            }
+            nodesToSwap.remove(nodeToInsert);
+
+            solver.verifySolution(data, "after a regret insertion", false);
+
+            initialValue += bestInsertion.getValue();
+
+            // only the insertions into the modified route are outdated, the other nodes keep their priority
+            for (int slot = 0; slot < regretQueue.getSlotCount() && !vehicleToInsertInto.isPenaltyVehicle(); slot++) {
+                if (!regretQueue.contains(slot)) continue;
+                NodeSwap nodeSwap = regretQueue.get(slot);
+                NodeSwap selectedNodeSwap = nodeSwap.getRegretNodeSwap(vehicleToInsertInto);
+
+                if (selectedNodeSwap == null) continue;
+
+                NodeSwap currentInsertion = findBestInsertion(data, vehicleToInsertInto, nodeSwap.getNode(), initialValue, granular);
+
+                if (currentInsertion == null) {
+                    nodeSwap.getRegretNodeSwapList().remove(selectedNodeSwap);
+                } else {
+                    nodeSwap.updateRegretNodeSwap(selectedNodeSwap, currentInsertion.getIndex(), currentInsertion.getValue());
+                }
+
+                if (granular && onlyPenaltyVehicleLeft(nodeSwap) && CONSTANTS.isGRANULAR_FALLBACK()) {
+                    nodeSwap.getRegretNodeSwapList().clear();
+                    nodeSwap.getRegretNodeSwapList().addAll(evaluateRegretInsertions(data, nodeSwap.getNode(), initialValue, false).getRegretNodeSwapList());
+                }
+                regretQueue.update(slot);
+            }
+
+            solver.verifySolution(data, "after the regret values are recalculated", false);
+
+        }
+
+        if (debug) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("regretInsert ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+            logger.debug("Validating the data took " + (insertionCheckNanoTime.sum() * 1e-9) + " seconds");
+        }
+
+    }
+
+    /**
+     * See section 3.2.1.
+     *
+     * @param data        - data object (graph) to work with
+     * @param nodesToSwap all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param logger      - logger object
+     */
+    private void greedyInsert(Data data, List<Node> nodesToSwap, Logger logger) {
+
+        if (logger.isDebugEnabled()) logger.debug("greedyInsert started at: " + LocalTime.now());
+        long startNanoTime = System.nanoTime();
+
+        float currentValue, diff, initialValue = solver.getDataValue(data);
+        int indexToInsert;
+        boolean debug = logger.isDebugEnabled();
+        List<NodeSwap> nodeSwapList = new ArrayList<>();
+        Node nodeToInsert;
+        NodeSwap currentNodeSwap = null, bestNodeSwap;
+        Vehicle vehicleToInsertInto, penaltyVehicle = data.getPenaltyVehicle();
+        measureInsertionChecks = debug;
+        insertionCheckNanoTime.reset();
+
+        solver.verifySolution(data, "at the start of greedyInsert", false);
+
+        nodeSwapList.addAll(Arrays.asList(evaluateInsertions(data, nodesToSwap, initialValue, false)));
+        if (!nodeSwapList.isEmpty()) currentNodeSwap = nodeSwapList.get(nodeSwapList.size() - 1);
+
+        solver.verifySolution(data, "after the greedy values are calculated", false);
+
+        while (nodesToSwap.size() > 0) {
+
+            nodeSwapList.sort(new Comparator<NodeSwap>() {
+                @Override
+                public int compare(NodeSwap o1, NodeSwap o2) {
+                    return (Float.compare(o1.getValue(), o2.getValue()));
+                }
+            });
+
+            bestNodeSwap = nodeSwapList.get(0);
+            vehicleToInsertInto = bestNodeSwap.getVehicle();
+            nodeToInsert = bestNodeSwap.getNode();
+            indexToInsert = bestNodeSwap.getIndex();
+
+            if (bestNodeSwap.isFoundVehicleForNodeToInsert()) {
+                vehicleToInsertInto.insertNode(data, indexToInsert, nodeToInsert);
+                solver.updateArrivalTimesForVehicle(vehicleToInsertInto, data);
+            } else {
+                penaltyVehicle.insertNode(data, indexToInsert, nodeToInsert);
+            }
+            nodesToSwap.remove(nodeToInsert);
+            nodeSwapList.remove(0);
+
+            solver.verifySolution(data, "after a greedy insertion", false);
+
+            initialValue += bestNodeSwap.getValue();
+
+            for (NodeSwap nodeSwap : nodeSwapList) {
+                if (vehicleToInsertInto.isPenaltyVehicle()) {
+                    break;
+                }
+                boolean foundBetterValue = false;
+                if (nodeSwap.getVehicle().equals(vehicleToInsertInto)) {
+                    currentNodeSwap = findBestGreedyInsertion(data, nodeSwap.getNode(), initialValue);
+                    nodeSwap.setVehicle(currentNodeSwap.getVehicle());
+                    nodeSwap.setValue(currentNodeSwap.getValue());
+                    nodeSwap.setIndex(currentNodeSwap.getIndex());
+                    nodeSwap.setModified(true);
+                } else {
+                    Node previousNode = vehicleToInsertInto.getNode(indexToInsert - 1);
+                    Node nextNode = vehicleToInsertInto.getNode(indexToInsert + 1);
+                    Node node = nodeSwap.getNode();
+
+                    float distanceBetweenNodesToInsert = data.getDistanceBetweenNode(previousNode, nodeToInsert);
+                    float distanceBetweenNodesAfterInsert = data.getDistanceBetweenNode(previousNode, node) + data.getDistanceBetweenNode(node, nodeToInsert);
+
+                    boolean validSolution = isCandidatePosition(data, node, previousNode, nodeToInsert)
+                            && vehicleToInsertInto.isInsertionFeasible(data, node, indexToInsert);
+
+                    if (validSolution) {
+                        currentValue = initialValue - distanceBetweenNodesToInsert + distanceBetweenNodesAfterInsert;
+                        diff = currentValue - initialValue;
+                        if (diff < nodeSwap.getValue()) {
+                            currentNodeSwap = new NodeSwap(node, vehicleToInsertInto, diff, indexToInsert, true);
+                            foundBetterValue = true;
+                        }
+                    }
+
+                    distanceBetweenNodesToInsert = data.getDistanceBetweenNode(nodeToInsert, nextNode);
+                    distanceBetweenNodesAfterInsert = data.getDistanceBetweenNode(nodeToInsert, node) + data.getDistanceBetweenNode(node, nextNode);
+
+                    validSolution = isCandidatePosition(data, node, nodeToInsert, nextNode)
+                            && vehicleToInsertInto.isInsertionFeasible(data, node, indexToInsert + 1);
+
+                    if (validSolution) {
+                        currentValue = initialValue - distanceBetweenNodesToInsert + distanceBetweenNodesAfterInsert;
+                        diff = currentValue - initialValue;
+                        if ((diff < nodeSwap.getValue() && currentNodeSwap == null) || (currentNodeSwap != null && diff < currentNodeSwap.getValue())) {
+                            currentNodeSwap = new NodeSwap(node, vehicleToInsertInto, diff, indexToInsert + 1, true);
+                            foundBetterValue = true;
+                        }
+                    }
+
+                    if (foundBetterValue) {
+                        assert currentNodeSwap != null;
+                        nodeSwap.setVehicle(currentNodeSwap.getVehicle());
+                        nodeSwap.setValue(currentNodeSwap.getValue());
+                        nodeSwap.setIndex(currentNodeSwap.getIndex());
+                        nodeSwap.setModified(true);
+                        currentNodeSwap = null;
+                    }
+                }
+            }
+
+            solver.verifySolution(data, "after the greedy values are recalculated", false);
+        }
+
+        if (debug) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("greedyInsert ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+            logger.debug("Validating the data took " + (insertionCheckNanoTime.sum() * 1e-9) + " seconds");
+        }
+
+    }
+
+    /**
+     * See section 3.3.
+     *
+     * @param data             - data object (graph) to work with
+     * @param nodesToSwap      - all the nodes from the graph which had been deleted by the destroyNodes method
+     * @param heuristicWeights - the current weights of the heuristics based on the output of the past period
+     * @param logger           - logger object
+     */
+    public void repairNodes(Data data, List<Node> nodesToSwap, HeuristicWeights heuristicWeights, Logger logger) {
+        long repairStart = System.nanoTime();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Repairing nodes started at: " + LocalTime.now());
+            logger.debug("Inserting " + nodesToSwap.size() + " nodes");
+        }
+
+        float sumOf = heuristicWeights.sumOfRepair();
+        float greedyWeight = heuristicWeights.getGreedyInsertWeight() / sumOf;
+        float regret_2_Weight = heuristicWeights.getRegret_2_InsertWeight() / sumOf;
+        float regret_3_Weight = heuristicWeights.getRegret_3_InsertWeight() / sumOf;
+        float regret_K_Weight = heuristicWeights.getRegret_K_InsertWeight() / sumOf;
+        float randomValue = random.nextFloat();
+        if (randomValue < greedyWeight) {
+            heuristicWeights.setCurrentInsert(1);
+            logger.debug("Insert method: greedyInsert");
+            greedyInsert(data, nodesToSwap, logger);
+        } else if (randomValue < sum(greedyWeight, regret_2_Weight)) {
+            heuristicWeights.setCurrentInsert(2);
+            logger.debug("Insert method: regretInsert_2");
+            regretInsert(data, nodesToSwap, 2, logger);
+        } else if (randomValue < sum(greedyWeight, regret_2_Weight, regret_3_Weight)) {
+            heuristicWeights.setCurrentInsert(3);
+            logger.debug("Insert method: regretInsert_3");
+            regretInsert(data, nodesToSwap, 3, logger);
+        } else if (randomValue < sum(greedyWeight, regret_2_Weight, regret_3_Weight, regret_K_Weight)) {
+            heuristicWeights.setCurrentInsert(4);
+            logger.debug("Insert method: regretInsert_k");
+            int customerNodeCount = (int) data.getNodeList().stream().filter(node -> !node.isDepot() && !node.isDumpingSite()).count();
+            regretInsert(data, nodesToSwap, customerNodeCount, logger);
+        }
+        solver.verifySolution(data, "after the repair", true);
+
+        if (logger.isDebugEnabled()) {
+            long repairEnd = System.nanoTime();
+            logger.debug("Repairing nodes ended at: " + LocalTime.now() + ", took " + ((repairEnd - repairStart) * 1e-9) + " seconds");
+        }
+
+    }
+}
@@ -0,0 +1,46 @@
+package vrp;
+
+import data.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Converts the text instance files of a folder into binary instance files, see BinaryInstanceFormat.
+ * Usage: InstanceConverter input_folder output_folder [solomon]
+ */
+public class InstanceConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: InstanceConverter input_folder output_folder [solomon]");
+            return;
+        }
+        boolean solomon = args.length > 2 && args[2].equals("solomon");
+        Path outputFolder = Path.of(args[1]);
+        Files.createDirectories(outputFolder);
+        Parser parser = new Parser();
+        int failed = 0;
+        for (File fileEntry : Objects.requireNonNull(new File(args[0]).listFiles())) {
+            if (!fileEntry.isFile()) continue;
+            long start = System.nanoTime();
+            String name = fileEntry.getName();
+            int extension = name.lastIndexOf('.');
+            Path output = outputFolder.resolve((extension > 0 ? name.substring(0, extension) : name) + ".vrpb");
+            try {
+                Data data = parser.parseInstance(fileEntry.toPath(), solomon);
+                BinaryInstanceFormat.write(data, output);
+            } catch (IOException | RuntimeException e) {
+                // a file which can not be converted is reported and left out, the rest of the folder is converted
+                System.out.println("Failed to convert " + fileEntry + ": " + e);
+                failed++;
+                continue;
+            }
+            System.out.println(fileEntry + " -> " + output + " in " + ((System.nanoTime() - start) * 1e-9) + " seconds");
+        }
+        if (failed > 0) System.out.println(failed + " files could not be converted");
+    }
+}
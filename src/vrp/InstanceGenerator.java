@@ -0,0 +1,109 @@
+package vrp;
+
+import data.CandidateLists;
+import data.Constants;
+import data.Data;
+import data.FlatDistanceMatrix;
+import data.MatrixStatistics;
+import data.Node;
+import data.Vehicle;
+
+import java.util.Random;
+
+/**
+ * Generator of Solomon-style random instances (R type) for the benchmarks and the tests. The customers are spread
+ * uniformly on a 100 x 100 square around a central depot, and the instance is extended with dumping sites and a fleet
+ * the same way as the parsed Solomon instances. The same size and seed always give the same instance, so the benchmark
+ * runs of different versions of the solver are comparable.
+ */
+public final class InstanceGenerator {
+
+    /**
+     * End of the planning horizon, the time window of the depot.
+     */
+    private static final float HORIZON = 1000;
+
+    /**
+     * Capacity of every vehicle.
+     */
+    private static final int VEHICLE_CAPACITY = 200;
+
+    /**
+     * Service time at the customers, the dumping sites take twice as long.
+     */
+    private static final float SERVICE_TIME = 10;
+
+    private InstanceGenerator() {
+    }
+
+    /**
+     * Generates an instance with one dumping site for every 500 customers, see generate(int, int, long).
+     *
+     * @param numberOfCustomers - number of customer nodes
+     * @param seed              - seed of the random number generator
+     * @return - the generated data object, ready to be solved
+     */
+    public static Data generate(int numberOfCustomers, long seed) {
+        return generate(numberOfCustomers, 1 + numberOfCustomers / 500, seed);
+    }
+
+    /**
+     * Generates an instance with the depot as node 0, followed by the dumping sites and the customers.
+     *
+     * @param numberOfCustomers    - number of customer nodes
+     * @param numberOfDumpingSites - number of dumping site nodes
+     * @param seed                 - seed of the random number generator
+     * @return - the generated data object, ready to be solved
+     */
+    public static Data generate(int numberOfCustomers, int numberOfDumpingSites, long seed) {
+        Random random = new Random(seed);
+        Data data = new Data();
+        data.setDataset("Solomon");
+        data.setInfo("R_" + numberOfCustomers);
+
+        int size = 1 + numberOfDumpingSites + numberOfCustomers;
+
+        data.addNode(new Node(0, 50, 50, 0, 0, HORIZON, 0, true, false));
+        for (int i = 0; i < numberOfDumpingSites; i++) {
+            data.addNode(new Node(data.getNodeListSize(), coordinate(random), coordinate(random), 99999,
+                    0, HORIZON, 2 * SERVICE_TIME, false, true));
+        }
+        for (int i = 0; i < numberOfCustomers; i++) {
+            float timeStart = random.nextFloat() * HORIZON * 0.6f;
+            float timeEnd = timeStart + HORIZON * (0.1f + random.nextFloat() * 0.2f);
+            data.addNode(new Node(data.getNodeListSize(), coordinate(random), coordinate(random), 5 + random.nextInt(36),
+                    timeStart, timeEnd, SERVICE_TIME, false, false));
+        }
+
+        int numberOfVehicles = 5 + numberOfCustomers / 15;
+        for (int i = 0; i < numberOfVehicles; i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setType(1);
+            vehicle.setDepartureNode(data.getDepotNode());
+            vehicle.setArrivalNode(data.getDepotNode());
+            vehicle.setMaximumCapacity(VEHICLE_CAPACITY);
+            vehicle.setMaximumNumberOfStopsToVisit(size + 20);
+            vehicle.setId(i);
+            data.addVehicle(vehicle);
+        }
+
+        FlatDistanceMatrix matrix = new FlatDistanceMatrix(size);
+        for (Node from : data.getNodeList()) {
+            for (Node to : data.getNodeList()) {
+                float distance = (float) Math.hypot(from.getCx() - to.getCx(), from.getCy() - to.getCy());
+                matrix.setDistance(from.getId(), to.getId(), distance);
+            }
+        }
+        data.setMatrix(matrix);
+        Constants constants = new Constants();
+        data.setMatrixStatistics(new MatrixStatistics(matrix, constants.getNEAREST_NEIGHBOURS()));
+        if (constants.getGRANULAR_NEIGHBOURS() > 0) {
+            data.setCandidateLists(new CandidateLists(data.getNodeList(), matrix, constants.getGRANULAR_NEIGHBOURS()));
+        }
+        return data;
+    }
+
+    private static float coordinate(Random random) {
+        return random.nextFloat() * 100;
+    }
+}
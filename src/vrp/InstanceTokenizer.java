@@ -0,0 +1,252 @@
+package vrp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Line aware tokenizer of the instance files. The file is read through a file channel into a reusable byte buffer and
+ * the numbers are parsed straight from the bytes, so apart from the few section header lines and the numbers which are
+ * too long for the fast path nothing is allocated per line or per token.
+ */
+final class InstanceTokenizer implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Bound of the mantissas parsed without falling back to Float.parseFloat, a float holds every integer below it
+     * without rounding.
+     */
+    private static final long MAXIMUM_MANTISSA = 1 << 24;
+
+    /**
+     * Longest number parsed straight from the buffer, longer ones are collected into the scratch array.
+     */
+    private static final int MAXIMUM_TOKEN_LENGTH = 64;
+
+    /**
+     * Exact powers of ten, a float holds them without rounding up to 10^10. The quotient of two exact floats is rounded
+     * once, so the fast path gives the same float as Float.parseFloat.
+     */
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+
+    /**
+     * Position of the next unread byte and the number of valid bytes in the buffer.
+     */
+    private int position;
+    private int limit;
+    private boolean endOfFile;
+
+    /**
+     * Bytes of the line being read, or of a token too long to be parsed straight from the buffer.
+     */
+    private byte[] scratch;
+
+    InstanceTokenizer(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.bytes = buffer.array();
+        this.position = 0;
+        this.limit = 0;
+        this.endOfFile = false;
+        this.scratch = new byte[64];
+    }
+
+    /**
+     * Returns the next byte without consuming it, -1 at the end of the file.
+     */
+    private int peek() throws IOException {
+        if (position == limit && !ensureAvailable(1)) return -1;
+        return bytes[position];
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer and reads the file until at least the given number of bytes
+     * is available, so a number never has to be parsed across two reads.
+     *
+     * @param length - number of bytes needed
+     * @return - false if not even one byte is left in the file, true otherwise
+     */
+    private boolean ensureAvailable(int length) throws IOException {
+        if (limit - position >= length || endOfFile) return position < limit;
+        System.arraycopy(bytes, position, bytes, 0, limit - position);
+        limit -= position;
+        position = 0;
+        buffer.clear().position(limit);
+        while (limit < length) {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                endOfFile = true;
+                break;
+            }
+            limit += read;
+        }
+        return position < limit;
+    }
+
+    private static boolean isBlank(int b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static boolean isLineEnd(int b) {
+        return b == '\n' || b == -1;
+    }
+
+    private void skipBlanks() throws IOException {
+        while (isBlank(peek())) position++;
+    }
+
+    /**
+     * Skips the empty lines.
+     *
+     * @return - false if the end of the file is reached, true otherwise
+     */
+    boolean skipEmptyLines() throws IOException {
+        while (true) {
+            skipBlanks();
+            int b = peek();
+            if (b == -1) return false;
+            if (b != '\n') return true;
+            position++;
+        }
+    }
+
+    /**
+     * @return - true if the next token of the current line starts like a number
+     */
+    boolean atNumber() throws IOException {
+        skipBlanks();
+        int b = peek();
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.';
+    }
+
+    /**
+     * @return - true if the current line has more tokens
+     */
+    boolean hasNextOnLine() throws IOException {
+        skipBlanks();
+        return !isLineEnd(peek());
+    }
+
+    /**
+     * Consumes the rest of the current line including the line break.
+     */
+    void endLine() throws IOException {
+        int b;
+        while (!isLineEnd(b = peek())) position++;
+        if (b == '\n') position++;
+    }
+
+    /**
+     * Reads the rest of the current line, used for the header and section lines only.
+     *
+     * @return - the line without the line break
+     */
+    String readLine() throws IOException {
+        int length = 0;
+        int b;
+        while (!isLineEnd(b = peek())) {
+            length = appendScratch(length, b);
+            position++;
+        }
+        if (b == '\n') position++;
+        return new String(scratch, 0, length, StandardCharsets.US_ASCII).strip();
+    }
+
+    private int appendScratch(int length, int b) {
+        if (length == scratch.length) {
+            byte[] grown = new byte[scratch.length * 2];
+            System.arraycopy(scratch, 0, grown, 0, length);
+            scratch = grown;
+        }
+        scratch[length] = (byte) b;
+        return length + 1;
+    }
+
+    int nextInt() throws IOException {
+        return (int) nextFloat();
+    }
+
+    /**
+     * Parses the next number of the current line. Decimal numbers whose digits form an integer below 2^24, with at most
+     * 10 fraction digits, are parsed from the bytes, anything else (long mantissas, exponents, NaN) goes through
+     * Float.parseFloat.
+     *
+     * @return - the parsed number
+     */
+    float nextFloat() throws IOException {
+        skipBlanks();
+        ensureAvailable(MAXIMUM_TOKEN_LENGTH);
+        int start = position;
+        int end = Math.min(limit, start + MAXIMUM_TOKEN_LENGTH);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean seenDigit = false;
+        boolean fastPath = true;
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (fraction) fractionDigits++;
+                if (mantissa == 0 && b == '0' || !fastPath) continue;
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa >= MAXIMUM_MANTISSA) fastPath = false;
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (isBlank(b) || b == '\n') {
+                break;
+            } else {
+                fastPath = false;
+            }
+        }
+        if (i == start) {
+            throw new NumberFormatException("Missing number");
+        }
+        if (i == end && end < limit && !isBlank(bytes[end]) && bytes[end] != '\n') {
+            return Float.parseFloat(readToken());
+        }
+        position = i;
+        if (!fastPath || !seenDigit || fractionDigits >= FLOAT_POWERS_OF_TEN.length) {
+            return Float.parseFloat(new String(bytes, start, i - start, StandardCharsets.US_ASCII));
+        }
+        float value = (float) mantissa / FLOAT_POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads a token which is too long to be parsed straight from the buffer.
+     *
+     * @return - the token
+     */
+    private String readToken() throws IOException {
+        int length = 0;
+        int b;
+        while (!isBlank(b = peek()) && !isLineEnd(b)) {
+            length = appendScratch(length, b);
+            position++;
+        }
+        return new String(scratch, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
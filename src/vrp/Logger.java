@@ -0,0 +1,216 @@
+package vrp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The Logger class is responsible for logging the output and every important information during the parsing or the
+ * optimizing process. The messages are streamed into the log file by a background writer thread, so neither the
+ * memory usage nor the solver depends on the length of the log.
+ */
+public class Logger {
+
+    /**
+     * Levels of the messages, a message is logged only if its level is not lower than the level of the logger.
+     */
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN,
+        OFF
+    }
+
+    /**
+     * Maximum number of messages waiting for the writer thread, the solver waits if the writer falls behind.
+     */
+    private static final int QUEUE_CAPACITY = 8192;
+
+    /**
+     * Marks the end of the log, compared by reference so it can not be mistaken for an empty line.
+     */
+    private static final String END_OF_LOG = new String("");
+
+    /**
+     * Path where the log files will be created.
+     */
+    private String path;
+
+    /**
+     * Lowest level being logged.
+     */
+    private final Level level;
+
+    /**
+     * Messages waiting to be written into the log file.
+     */
+    private final BlockingQueue<String> queue;
+
+    /**
+     * Background thread writing the messages into the log file.
+     */
+    private Thread writerThread;
+
+    /**
+     * Error of the writer thread, rethrown when the log file is finished.
+     */
+    private volatile IOException writeError;
+
+    public Logger() {
+        this(Level.INFO);
+    }
+
+    public Logger(Level level) {
+        this.level = level;
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    }
+
+    /**
+     * Per-iteration and per-operator messages are logged on debug level. Callers check this before building such a
+     * message, so a disabled level costs neither string formatting nor clock reads.
+     *
+     * @return - true if debug messages are logged, false otherwise
+     */
+    public boolean isDebugEnabled() {
+        return level.compareTo(Level.DEBUG) <= 0;
+    }
+
+    public boolean isInfoEnabled() {
+        return level.compareTo(Level.INFO) <= 0;
+    }
+
+    public boolean isWarnEnabled() {
+        return level.compareTo(Level.WARN) <= 0;
+    }
+
+    public void debug(String string) {
+        if (isDebugEnabled()) enqueue(string);
+    }
+
+    public void log(String string) {
+        if (isInfoEnabled()) enqueue(string);
+    }
+
+    /**
+     * Logs a problem which does not stop the running process, e.g. an input file which is left out.
+     *
+     * @param string - message to log
+     */
+    public void warn(String string) {
+        if (isWarnEnabled()) enqueue("WARNING: " + string);
+    }
+
+    public void emptyLine() {
+        log("");
+    }
+
+    /**
+     * Sets the path of the log file and starts streaming the messages into it.
+     *
+     * @param path - path of the log file
+     */
+    public void setPath(String path) {
+        if (writerThread != null) {
+            throw new IllegalStateException("The log file " + this.path + " is already being written");
+        }
+        this.path = path;
+        this.writerThread = new Thread(this::writeMessages, "logger-" + path);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    private void enqueue(String string) {
+        if (writerThread == null) {
+            throw new IllegalStateException("The path of the log file is not set");
+        }
+        try {
+            queue.put(string);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Body of the writer thread, drains the queue in batches into a buffered writer until the end of the log. After an
+     * error the messages are still taken from the queue, so the solver never blocks on a failed log file.
+     */
+    private void writeMessages() {
+        List<String> batch = new ArrayList<>();
+        BufferedWriter writer = null;
+        try {
+            writer = Files.newBufferedWriter(Path.of(path));
+        } catch (IOException e) {
+            writeError = e;
+        }
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (String string : batch) {
+                    if (string == END_OF_LOG) {
+                        if (writer != null) writer.close();
+                        return;
+                    }
+                    if (writer != null) {
+                        writer.write(string);
+                        writer.write('\n');
+                    }
+                }
+                batch.clear();
+            }
+        } catch (IOException e) {
+            writeError = e;
+            closeQuietly(writer);
+            discardMessages();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeQuietly(BufferedWriter writer) {
+        try {
+            if (writer != null) writer.close();
+        } catch (IOException e) {
+            // the first error is the one reported
+        }
+    }
+
+    private void discardMessages() {
+        try {
+            while (queue.take() != END_OF_LOG) {
+                // the log file is broken, only the end of the log is waited for
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Method to finish the log file, waits until every logged message is written to the disk.
+     */
+    public void writeFile() {
+        if (writerThread == null || !writerThread.isAlive()) {
+            rethrowWriteError();
+            return;
+        }
+        try {
+            queue.put(END_OF_LOG);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        rethrowWriteError();
+    }
+
+    private void rethrowWriteError() {
+        if (writeError != null) {
+            throw new RuntimeException(writeError);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package vrp;
+
+import data.Data;
+
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * This main class is the entry point for the optimizer.
+ */
+public class Main {
+
+    public static void main(String[] args) {
+        boolean trace = false;
+        parseData(trace);
+    }
+
+    /**
+     * Parsing the data, then solving it with the greedy initialization and the ALNS afterwards. The ten repetitions of
+     * each data object run in parallel by the multi-start solver. The data objects are parsed one by one right before
+     * solving them, so only one of them is kept in memory at a time.
+     *
+     * @param trace - if set to true, traces will appear
+     */
+    public static void parseData(boolean trace) {
+
+        Parser parser = new Parser();
+        parser.addPath("path_goes_here");
+        parser.setFolder();
+        MultiStartSolver solver = new MultiStartSolver(10);
+        // TODO: IF PARSING THE SOLOMON INSTANCES, SET IT TO TRUE, FALSE OTHERWISE
+        Iterator<Parser.ParseResult> instances = parser.iterateInstances(true).iterator();
+        while (instances.hasNext()) {
+            solveInstance(instances.next(), solver, trace);
+        }
+    }
+
+    /**
+     * Solves one parsed data object. Nothing refers to the data object after this method returns, so it can be
+     * collected before the next one is parsed.
+     *
+     * @param result - result of parsing the data object
+     * @param solver - multi-start solver object
+     * @param trace  - if set to true, traces will appear
+     */
+    private static void solveInstance(Parser.ParseResult result, MultiStartSolver solver, boolean trace) {
+        if (!result.isSuccessful()) {
+            System.out.println("Failed to parse " + result.getPath() + ": " + result.getError());
+            return;
+        }
+        Data data = result.getData();
+        LocalTime start = LocalTime.now();
+        System.out.println("Solving " + data.getInfo());
+        if (trace) System.out.println(data.getInfo() + " parsed in " + result.getParseTime() + " seconds");
+        if (trace) System.out.println(data.getInfo() + " started at " + start.toString());
+        Data bestData = solver.solve(data, "path_goes_here" + data.getInfo());
+        if (trace && bestData == null) System.out.println(data.getInfo() + " failed");
+        LocalTime end = LocalTime.now();
+        if (trace) System.out.println(data.getInfo() + " ended at " + end.toString());
+    }
+
+}
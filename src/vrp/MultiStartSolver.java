@@ -0,0 +1,121 @@
+package vrp;
+
+import data.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-start engine which runs several searches (greedy initialization followed by the ALNS) on the same data object
+ * in parallel. Every search has its own Solver, so the random number generator, the solution hashes and the heuristic
+ * weights are never shared between threads, only the immutable parts of the data object. In cooperative mode the
+ * searches form an island model: they publish their best solutions to a common SolutionExchange, and a stalled search
+ * restarts from the shared best one.
+ */
+public class MultiStartSolver {
+
+    /**
+     * Number of searches per data object.
+     */
+    private final int numberOfSearches;
+
+    /**
+     * Number of threads running the searches.
+     */
+    private final int numberOfThreads;
+
+    /**
+     * Random object for generating the seed of each search.
+     */
+    private final Random seedGenerator;
+
+    /**
+     * If set to true, the searches share their best solutions, otherwise they are independent.
+     */
+    private final boolean cooperative;
+
+    public MultiStartSolver(int numberOfSearches) {
+        this(numberOfSearches, Runtime.getRuntime().availableProcessors(), new Random().nextLong(), false);
+    }
+
+    public MultiStartSolver(int numberOfSearches, int numberOfThreads, long seed, boolean cooperative) {
+        this.numberOfSearches = numberOfSearches;
+        this.numberOfThreads = numberOfThreads;
+        this.seedGenerator = new Random(seed);
+        this.cooperative = cooperative;
+    }
+
+    /**
+     * Solves the data object with all the searches and returns the best solution found by any of them. Search i logs
+     * into the file logPath + "_" + i + ".txt".
+     *
+     * @param data    - parsed data object (graph) to solve, it is not modified
+     * @param logPath - path prefix of the log files
+     * @return - the best data object found, or null if every search failed
+     */
+    public Data solve(Data data, String logPath) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, numberOfSearches));
+        List<Future<Data>> futures = new ArrayList<>();
+        List<Solver> solvers = new ArrayList<>();
+        SolutionExchange solutionExchange = cooperative ? new SolutionExchange() : null;
+        try {
+            for (int i = 1; i <= numberOfSearches; i++) {
+                // the copy is made here, so the worker threads never touch the shared data object
+                Data searchData = new Data(data);
+                Solver solver = new Solver(List.of(searchData), seedGenerator.nextLong());
+                solver.setSolutionExchange(solutionExchange);
+                Logger logger = new Logger();
+                logger.setPath(logPath + "_" + i + ".txt");
+                solvers.add(solver);
+                futures.add(executor.submit(() -> search(solver, searchData, logger)));
+            }
+
+            Data bestData = null;
+            float bestValue = Float.MAX_VALUE;
+            for (int i = 0; i < futures.size(); i++) {
+                Data result = futures.get(i).get();
+                if (result == null) continue;
+                float value = solvers.get(i).getDataValue(result);
+                if (value < bestValue) {
+                    bestValue = value;
+                    bestData = result;
+                }
+            }
+            return bestData;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * One independent search, run on a worker thread.
+     *
+     * @param solver - solver object owned by this search
+     * @param data   - data object (graph) owned by this search
+     * @param logger - logger object owned by this search
+     * @return - the best data object found, or null if the search failed
+     */
+    private Data search(Solver solver, Data data, Logger logger) {
+        Data bestData = null;
+        try {
+            solver.initGreedy(data, logger);
+            bestData = solver.ALNS(data, logger);
+        } catch (IndexOutOfBoundsException exception) {
+            logger.log(exception.getLocalizedMessage());
+        } finally {
+            // the log of a failed search is flushed too, and its writer thread is stopped
+            logger.writeFile();
+        }
+        return bestData;
+    }
+}
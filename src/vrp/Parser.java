@@ -0,0 +1,343 @@
+package vrp;
+
+import data.CandidateLists;
+import data.Constants;
+import data.Data;
+import data.DistanceMatrix;
+import data.EuclideanDistanceMatrix;
+import data.FileSection;
+import data.FlatDistanceMatrix;
+import data.MatrixStatistics;
+import data.Node;
+import data.Vehicle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parser class for file parsing into correct form.
+ */
+public class Parser {
+
+    /**
+     * Path for the folder parsing from.
+     */
+    private String path;
+
+    /**
+     * List of the parsed and converted data objects to solve.
+     */
+    private final List<Data> data;
+
+    /**
+     * Exact folder object to parse the files from, set by the path.
+     */
+    private File folder;
+
+    /**
+     * Filesection object.
+     */
+    private FileSection section;
+
+    /**
+     * Constant values.
+     */
+    private final Constants CONSTANTS;
+
+    /**
+     * Number of threads parsing the files of the folder.
+     */
+    private int numberOfThreads;
+
+    /**
+     * If set to true, the distances are computed from the node coordinates and the matrix of the files is skipped.
+     */
+    private boolean coordinateDistances;
+
+    public Parser() {
+        this.path = "";
+        this.data = new ArrayList<>();
+        this.section = null;
+        this.CONSTANTS = new Constants();
+        this.numberOfThreads = Runtime.getRuntime().availableProcessors();
+        this.coordinateDistances = false;
+    }
+
+    void addPath(String path) {
+        this.path = path;
+    }
+
+    void setFolder() {
+        this.folder = new File(this.path);
+    }
+
+    public void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    public void setCoordinateDistances(boolean coordinateDistances) {
+        this.coordinateDistances = coordinateDistances;
+    }
+
+    public FileSection getSection() {
+        return section;
+    }
+
+    public void setSection(FileSection section) {
+        this.section = section;
+    }
+
+    /**
+     * This method parses all the input files into the correct format and objects for the optimizer algorithm.
+     * The files have to be passed in the correct format! The parsing time or the failure of every file is reported,
+     * a file which can not be parsed is left out without aborting the others.
+     *
+     * @param solomon - if set to true, the Solomon type instances will be parsed, otherwise the Kim ones
+     * @param logger  - logger object, the parsing times are logged on info level, the failures on warn level
+     * @return - the data object list containing all the necessary data for the optimizer, ordered by file name
+     */
+    public List<Data> parseInstances(boolean solomon, Logger logger) {
+        for (ParseResult result : loadInstances(solomon)) {
+            if (result.isSuccessful()) {
+                logger.log("Parsed " + result.getPath() + " in " + result.getParseTime() + " seconds");
+                this.data.add(result.getData());
+            } else {
+                logger.warn("Failed to parse " + result.getPath() + ": " + result.getError());
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Parses the files of the folder in parallel on a bounded number of threads.
+     *
+     * @param solomon - if set to true, the Solomon type instances will be parsed, otherwise the Kim ones
+     * @return - the result of every file, ordered by file name regardless of the order of completion
+     */
+    public List<ParseResult> loadInstances(boolean solomon) {
+        File[] files = listInstanceFiles();
+        List<ParseResult> results = new ArrayList<>();
+        if (files.length == 0) return results;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, files.length));
+        try {
+            List<Future<ParseResult>> futures = new ArrayList<>();
+            for (File file : files) {
+                futures.add(executor.submit(() -> parseTimed(file.toPath(), solomon)));
+            }
+            for (Future<ParseResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Lazy alternative of loadInstances for batch runs, a file is parsed only when the iterator reaches it, so only
+     * the data object being solved has to be kept in memory.
+     *
+     * @param solomon - if set to true, the Solomon type instances will be parsed, otherwise the Kim ones
+     * @return - the results of the files, ordered by file name
+     */
+    public Iterable<ParseResult> iterateInstances(boolean solomon) {
+        return () -> new Iterator<>() {
+
+            private final File[] files = listInstanceFiles();
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < files.length;
+            }
+
+            @Override
+            public ParseResult next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return parseTimed(files[index++].toPath(), solomon);
+            }
+        };
+    }
+
+    private File[] listInstanceFiles() {
+        File[] files = Objects.requireNonNull(folder.listFiles(File::isFile), "Can not list " + folder);
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        return files;
+    }
+
+    private ParseResult parseTimed(Path path, boolean solomon) {
+        long start = System.nanoTime();
+        try {
+            Data data = parseInstance(path, solomon);
+            return new ParseResult(path, data, System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+            return new ParseResult(path, null, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Parses one input file. Binary instance files are memory-mapped, see BinaryInstanceFormat. In text files the
+     * numbers are tokenized straight from the bytes of the file and written into the primitive distance matrix, only
+     * the header and the section lines are read as strings. If the distances are set to be computed from the
+     * coordinates, the matrix section is skipped and the distances are provided by an EuclideanDistanceMatrix,
+     * otherwise a file without a matrix section is rejected. If granular insertion is turned on, the candidate lists
+     * of the instance are computed as well.
+     *
+     * @param path    - path of the input file
+     * @param solomon - if set to true, the file is a Solomon type instance, otherwise a Kim one
+     * @return - the parsed data object
+     * @throws IOException - if the file can not be read, or its distance matrix is missing or malformed
+     */
+    public Data parseInstance(Path path, boolean solomon) throws IOException {
+        Data data = BinaryInstanceFormat.isBinaryInstance(path)
+                ? BinaryInstanceFormat.read(path)
+                : parseTextInstance(path, solomon);
+        if (CONSTANTS.getGRANULAR_NEIGHBOURS() > 0) {
+            data.setCandidateLists(new CandidateLists(data.getNodeList(), data.getMatrix().withoutCache(), CONSTANTS.getGRANULAR_NEIGHBOURS()));
+        }
+        return data;
+    }
+
+    private Data parseTextInstance(Path path, boolean solomon) throws IOException {
+        Data data = new Data();
+        DistanceMatrix distanceMatrix;
+        FlatDistanceMatrix matrix = null;
+        FileSection section = null;
+        int size = 0, rowCount = 0;
+        try (InstanceTokenizer tokenizer = new InstanceTokenizer(path)) {
+            if (tokenizer.skipEmptyLines()) {
+                String[] datasetAndName = tokenizer.readLine().split(":");
+                data.setDataset(datasetAndName[0].strip());
+                data.setInfo(datasetAndName[1].strip());
+                String dataSetSize = datasetAndName[1].strip().split("_")[1];
+                size = getDataSetSize(dataSetSize, solomon);
+            }
+            while (tokenizer.skipEmptyLines()) {
+                if (!tokenizer.atNumber()) {
+                    String line = tokenizer.readLine();
+                    if (line.contains("Nodes")) {
+                        section = FileSection.NODES;
+                    } else if (line.contains("Vehicles")) {
+                        section = FileSection.VEHICLES;
+                    } else if (line.contains("matrix")) {
+                        section = FileSection.MATRIX;
+                        // the matrix is allocated only if it is used, so large Euclidean instances never hold it
+                        if (!coordinateDistances) matrix = new FlatDistanceMatrix(size);
+                    }
+                    continue;
+                }
+                if (section == FileSection.NODES) {
+                    float cx = tokenizer.nextFloat();
+                    float cy = tokenizer.nextFloat();
+                    float quantity = tokenizer.nextFloat();
+                    float timeStart = tokenizer.nextFloat();
+                    float timeEnd = tokenizer.nextFloat();
+                    float serviceTime = tokenizer.nextFloat();
+                    boolean depot = data.getNodeListSize() == 0;
+                    boolean dumpingSite = !depot && quantity > 1000;
+                    data.addNode(new Node(data.getNodeListSize(), cx, cy, quantity, timeStart, timeEnd, serviceTime,
+                            depot, dumpingSite));
+                } else if (section == FileSection.VEHICLES) {
+                    Vehicle vehicle = new Vehicle();
+                    vehicle.setType(tokenizer.nextInt());
+                    vehicle.setDepartureNode(data.getNodeOnIndex(tokenizer.nextInt()));
+                    vehicle.setArrivalNode(data.getNodeOnIndex(tokenizer.nextInt()));
+                    vehicle.setMaximumCapacity((int) tokenizer.nextFloat());
+                    vehicle.setMaximumNumberOfStopsToVisit((int) tokenizer.nextFloat());
+                    vehicle.setId(data.getFleet().size());
+                    data.addVehicle(vehicle);
+                } else if (section == FileSection.MATRIX && matrix != null) {
+                    // the rows are stored in one array, an over-long row would silently overwrite the next one
+                    if (rowCount == size) {
+                        throw new IOException(path + " has more than " + size + " rows in its distance matrix");
+                    }
+                    int columnCount = 0;
+                    while (tokenizer.hasNextOnLine()) {
+                        if (columnCount == size) {
+                            throw new IOException(path + " has more than " + size + " distances in row " + rowCount + " of its distance matrix");
+                        }
+                        matrix.setDistance(rowCount, columnCount++, tokenizer.nextFloat());
+                    }
+                    if (columnCount < size) {
+                        throw new IOException(path + " has " + columnCount + " distances instead of " + size + " in row " + rowCount + " of its distance matrix");
+                    }
+                    rowCount++;
+                }
+                tokenizer.endLine();
+            }
+        }
+        if (matrix != null && rowCount != size) {
+            throw new IOException(path + " has " + rowCount + " rows instead of " + size + " in its distance matrix");
+        }
+        if (matrix != null) {
+            distanceMatrix = matrix;
+        } else if (coordinateDistances) {
+            distanceMatrix = new EuclideanDistanceMatrix(data.getNodeList(), CONSTANTS.getDISTANCE_CACHE_ROWS());
+        } else {
+            // a truncated or mislabelled file must not be solved with distances it does not contain
+            throw new IOException(path + " has no distance matrix, coordinate distances are turned off");
+        }
+        data.setMatrix(distanceMatrix);
+        data.setMatrixStatistics(new MatrixStatistics(distanceMatrix.withoutCache(), CONSTANTS.getNEAREST_NEIGHBOURS()));
+        return data;
+    }
+
+    private int getDataSetSize(String dataSetSize, boolean solomon) {
+        if (dataSetSize.startsWith("0")) dataSetSize.substring(1);
+        int size = Integer.parseInt(dataSetSize);
+        return solomon ? size + 2 : size;
+    }
+
+    /**
+     * Outcome of parsing one file, either the data object or the error, together with the time it took.
+     */
+    public static class ParseResult {
+
+        private final Path path;
+        private final Data data;
+        private final long parseNanoTime;
+        private final Exception error;
+
+        ParseResult(Path path, Data data, long parseNanoTime, Exception error) {
+            this.path = path;
+            this.data = data;
+            this.parseNanoTime = parseNanoTime;
+            this.error = error;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public Data getData() {
+            return data;
+        }
+
+        /**
+         * @return - parsing time in seconds
+         */
+        public double getParseTime() {
+            return parseNanoTime * 1e-9;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+    }
+}
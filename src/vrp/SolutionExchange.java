@@ -0,0 +1,78 @@
+package vrp;
+
+import data.Data;
+import data.HeuristicWeights;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free exchange point of the cooperative searches. The best solution found by any of the searches is kept
+ * together with the heuristic weights of the search which found it. The stored objects are copies which are never
+ * modified after they are published, so any thread can copy them without synchronization.
+ */
+public class SolutionExchange {
+
+    /**
+     * The best shared solution, null until the first offer.
+     */
+    private final AtomicReference<SharedSolution> best;
+
+    public SolutionExchange() {
+        this.best = new AtomicReference<>();
+    }
+
+    /**
+     * Publishes the solution if it is better than the currently shared one.
+     *
+     * @param data             - data object (graph) of the solution
+     * @param value            - value of the solution
+     * @param heuristicWeights - heuristic weights of the search which found the solution
+     * @return - true if the solution became the shared best, false otherwise
+     */
+    public boolean offer(Data data, float value, HeuristicWeights heuristicWeights) {
+        SharedSolution current = best.get();
+        if (current != null && current.getValue() <= value) {
+            return false;
+        }
+        SharedSolution candidate = new SharedSolution(new Data(data), value, new HeuristicWeights(heuristicWeights));
+        while (!best.compareAndSet(current, candidate)) {
+            current = best.get();
+            if (current != null && current.getValue() <= value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public SharedSolution getBest() {
+        return best.get();
+    }
+
+    /**
+     * Immutable snapshot of a published solution.
+     */
+    public static class SharedSolution {
+
+        private final Data data;
+        private final float value;
+        private final HeuristicWeights heuristicWeights;
+
+        private SharedSolution(Data data, float value, HeuristicWeights heuristicWeights) {
+            this.data = data;
+            this.value = value;
+            this.heuristicWeights = heuristicWeights;
+        }
+
+        public Data getData() {
+            return data;
+        }
+
+        public float getValue() {
+            return value;
+        }
+
+        public HeuristicWeights getHeuristicWeights() {
+            return heuristicWeights;
+        }
+    }
+}
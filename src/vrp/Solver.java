@@ -1,8 +1,9 @@
+package vrp;
+
 import data.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,9 +25,9 @@ public class Solver {
     private final Random random;
 
     /**
-     * String list os hashes of already found solutions for evaluation.
+     * Bounded set of the fingerprints of already found solutions for evaluation.
      */
-    private final List<String> hashes;
+    private final FingerprintSet hashes;
 
     /**
      * Constant values.
@@ -38,12 +39,51 @@ public class Solver {
      */
     private final Heuristics heuristics;
 
+    /**
+     * Exchange point of the cooperative searches, null if the search runs on its own.
+     */
+    private SolutionExchange solutionExchange;
+
+    /**
+     * If set to true, the solution is verified after every step of the construction and the repair heuristics, and the
+     * search fails at the first invalid solution, see verifySolution.
+     */
+    private boolean verification;
+
     public Solver(List<Data> dataList) {
+        this(dataList, new Random());
+    }
+
+    /**
+     * Creates a solver whose random decisions, including the ones made by its heuristics, all come from a generator
+     * seeded with the given value, so a search can be repeated.
+     *
+     * @param dataList - list of the data objects
+     * @param seed     - seed of the random number generator
+     */
+    public Solver(List<Data> dataList, long seed) {
+        this(dataList, new Random(seed));
+    }
+
+    private Solver(List<Data> dataList, Random random) {
         this.dataList = dataList;
-        this.random = new Random();
-        this.hashes = new ArrayList<>();
+        this.random = random;
         this.CONSTANTS = new Constants();
-        this.heuristics = new Heuristics(this);
+        this.hashes = new FingerprintSet(CONSTANTS.getSOLUTION_HASHES_BOUND());
+        this.heuristics = new Heuristics(this, random);
+        this.verification = CONSTANTS.isVERIFY_SOLUTIONS() || Solver.class.desiredAssertionStatus();
+    }
+
+    public void setSolutionExchange(SolutionExchange solutionExchange) {
+        this.solutionExchange = solutionExchange;
+    }
+
+    public boolean isVerification() {
+        return verification;
+    }
+
+    public void setVerification(boolean verification) {
+        this.verification = verification;
     }
 
     /**
@@ -70,20 +110,19 @@ public class Solver {
         Vehicle penaltyVehicle = new Vehicle();
         penaltyVehicle.initVehicle();
         penaltyVehicle.setPenaltyVehicle(true);
-        data.getFleet().add(penaltyVehicle);
+        data.addVehicle(penaltyVehicle);
 
         float currentTime, serviceTime, travelTime, quantity;
         Node currentNode = data.getDepotNode(), dumpingSite, nextNode;
         Vehicle currentVehicle = data.getFleet().get(0);
         StringBuilder currentVehicleRouteStringBuilder;
 
-        currentVehicle.getRoute().add(currentNode);
-        currentVehicle.setCurrentTime((float) currentNode.getTimeStart());
-        currentVehicle.getArrivalTimes().add((float) currentNode.getTimeStart());
+        currentVehicle.addNode(data, currentNode, currentNode.getTimeStart());
+        currentVehicle.setCurrentTime(currentNode.getTimeStart());
 
         while (data.hasMoreUnvisitedNodes()) {
             nextNode = data.findNextNode(currentVehicle, currentNode);
-            if (!nextNode.isNullNode()) {
+            if (nextNode != null) {
                 currentTime = currentVehicle.getCurrentTime();
                 travelTime = data.getDistanceBetweenNode(currentNode, nextNode);
                 serviceTime = currentNode.getServiceTime();
@@ -97,10 +136,9 @@ public class Solver {
 
                 currentVehicle.setCapacity(currentVehicle.getCapacity() + quantity);
                 currentNode = nextNode;
-                currentNode.setVisitedAt(currentVehicle.getCurrentTime());
-                currentVehicle.getArrivalTimes().add(currentNode.getVisitedAt());
-                currentNode.setVisited(true);
-                currentVehicle.getRoute().add(currentNode);
+                data.setVisitingTime(currentNode, currentVehicle.getCurrentTime());
+                data.setVisited(currentNode, true);
+                currentVehicle.addNode(data, currentNode, currentVehicle.getCurrentTime());
             } else {
                 if (currentNode.isDumpingSite()) {
                     Node depot = data.getDepotNode();
@@ -108,15 +146,13 @@ public class Solver {
                     travelTime = data.getDistanceBetweenNode(currentNode, depot);
                     serviceTime = currentNode.getServiceTime();
                     currentVehicle.setCurrentTime(currentTime + serviceTime + travelTime);
-                    currentVehicle.getArrivalTimes().add(currentTime + serviceTime + travelTime);
 
                     currentNode = depot;
-                    currentVehicle.getRoute().add(currentNode);
+                    currentVehicle.addNode(data, currentNode, currentTime + serviceTime + travelTime);
                     currentVehicle = data.getFleet().get(currentVehicle.getId() + 1);
 
-                    currentVehicle.getRoute().add(data.getDepotNode());
-                    currentVehicle.setCurrentTime((float) data.getDepotNode().getTimeStart());
-                    currentVehicle.getArrivalTimes().add((float) data.getDepotNode().getTimeStart());
+                    currentVehicle.addNode(data, data.getDepotNode(), data.getDepotNode().getTimeStart());
+                    currentVehicle.setCurrentTime(data.getDepotNode().getTimeStart());
                     continue;
                 }
                 dumpingSite = data.getNearestDumpingSiteNode(currentVehicle, currentNode);
@@ -124,29 +160,23 @@ public class Solver {
                 travelTime = data.getDistanceBetweenNode(currentNode, dumpingSite);
                 serviceTime = currentNode.getServiceTime();
                 currentVehicle.setCurrentTime(currentTime + serviceTime + travelTime);
-                currentVehicle.getArrivalTimes().add(currentTime + serviceTime + travelTime);
                 currentVehicle.setCapacity((float) 0);
 
                 currentNode = dumpingSite;
-                currentVehicle.getRoute().add(currentNode);
+                currentVehicle.addNode(data, currentNode, currentTime + serviceTime + travelTime);
             }
         }
 
         dumpingSite = data.getNearestDumpingSiteNode(currentVehicle, currentNode);
-        currentVehicle.getArrivalTimes().add(currentVehicle.getArrivalTimes().get(currentVehicle.getArrivalTimes().size() - 1) + currentNode.getServiceTime() + data.getDistanceBetweenNode(currentNode, dumpingSite));
-        currentVehicle.getArrivalTimes().add(currentVehicle.getArrivalTimes().get(currentVehicle.getArrivalTimes().size() - 1) + dumpingSite.getServiceTime() + data.getDistanceBetweenNode(dumpingSite, data.getDepotNode()));
-        currentVehicle.getRoute().add(dumpingSite);
-        currentVehicle.getRoute().add(data.getDepotNode());
+        currentVehicle.addNode(data, dumpingSite, currentVehicle.getArrivalTime(currentVehicle.getRouteSize() - 1) + currentNode.getServiceTime() + data.getDistanceBetweenNode(currentNode, dumpingSite));
+        currentVehicle.addNode(data, data.getDepotNode(), currentVehicle.getArrivalTime(currentVehicle.getRouteSize() - 1) + dumpingSite.getServiceTime() + data.getDistanceBetweenNode(dumpingSite, data.getDepotNode()));
 
-        for (Vehicle vehicle : data.getFleet().stream().filter(vehicle -> vehicle.getRoute().size() == 0 && !vehicle.isPenaltyVehicle()).collect(Collectors.toList())) {
+        for (Vehicle vehicle : data.getFleet().stream().filter(vehicle -> vehicle.getRouteSize() == 0 && !vehicle.isPenaltyVehicle()).collect(Collectors.toList())) {
             Node depotNode = data.getDepotNode();
             Node dump = data.getNearestDumpingSiteNode(vehicle, depotNode);
-            vehicle.getRoute().add(depotNode);
-            vehicle.getRoute().add(dump);
-            vehicle.getRoute().add(depotNode);
-            vehicle.getArrivalTimes().add((float) depotNode.getTimeStart());
-            vehicle.getArrivalTimes().add(vehicle.getArrivalTimes().get(0) + depotNode.getServiceTime() + data.getDistanceBetweenNode(depotNode, dump));
-            vehicle.getArrivalTimes().add(vehicle.getArrivalTimes().get(1) + dump.getServiceTime() + data.getDistanceBetweenNode(dump, depotNode));
+            vehicle.addNode(data, depotNode, depotNode.getTimeStart());
+            vehicle.addNode(data, dump, vehicle.getArrivalTime(0) + depotNode.getServiceTime() + data.getDistanceBetweenNode(depotNode, dump));
+            vehicle.addNode(data, depotNode, vehicle.getArrivalTime(1) + dump.getServiceTime() + data.getDistanceBetweenNode(dump, depotNode));
         }
 
         LocalTime endGreedy = LocalTime.now();
@@ -182,19 +212,14 @@ public class Solver {
                 } else if (node.isDumpingSite()) {
                     str = "DS" + node.getId();
                 } else {
-                    str = node.getId().toString();
+                    str = String.valueOf(node.getId());
                 }
                 currentVehicleRouteStringBuilder.append(str).append(" ");
             }
             logger.log(currentVehicleRouteStringBuilder.toString());
         }
 
-        for (Vehicle vehicle : data.getFleet().stream().filter(vehicle -> !vehicle.isPenaltyVehicle() && !vehicle.isEmpty()).collect(Collectors.toList())) {
-            boolean valid = checkForValidity(data, vehicle);
-            if (!valid) {
-                System.out.println("Vehicle " + vehicle.getId() + " is invalid!");
-            }
-        }
+        verifySolution(data, "after the greedy construction", true);
 
         logger.emptyLine();
         logger.log(CONSTANTS.getDividerString());
@@ -202,11 +227,14 @@ public class Solver {
 
     /**
      * The Adaptive Large Neighborhood Search heuristic for solving the problem. See section 2 from the paper of Ropke and Pisinger
+     * If a solution exchange is set, the best solution is published periodically, and the search restarts from the
+     * shared best solution when it could not improve for a long time.
      *
      * @param data   - data object (graph) to work with
      * @param logger - logger object
+     * @return - the best data object found during the search
      */
-    public void ALNS(Data data, Logger logger) {
+    public Data ALNS(Data data, Logger logger) {
 
         LocalTime startALNS = LocalTime.now();
         long startALNSNano = System.nanoTime();
@@ -228,6 +256,9 @@ public class Solver {
         HeuristicWeights heuristicWeights = new HeuristicWeights();
 
         data.destroyInfo();
+        for (Vehicle vehicle : data.getFleet()) {
+            if (vehicle.getRouteSize() > 3) updateArrivalTimesForVehicle(vehicle, data);
+        }
 
         Data bestData = new Data(data), currentData;
         int customerNodeCount = (int) (data.getNodeList()
@@ -238,22 +269,24 @@ public class Solver {
         List<Node> nodesToSwap;
         List<Float> valueList = new ArrayList<>();
         List<HeuristicWeights> heuristicWeightsList = new ArrayList<>();
-        String hashCode;
+        long fingerprint;
 
         valueList.add(bestValue);
         heuristicWeightsList.add(heuristicWeights);
 
         while (numberOfSteps < 25000 && noBetterSolutionFound < 2000) {
 
-            logger.log("Iteration " + numberOfSteps);
             iterationStart = System.nanoTime();
 
             currentData = new Data(data);
             currentValue = getDataValue(currentData);
-            logger.log("Current data value: " + currentValue);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Iteration " + numberOfSteps);
+                logger.debug("Current data value: " + currentValue);
+            }
 
             nodesToSwap = new ArrayList<>();
-            numberOfNodesToSwap = 4 + (int) (Math.random() * (Math.min(((int) (customerNodeCount * 0.4) - 4), 100) + 1));
+            numberOfNodesToSwap = 4 + (int) (random.nextDouble() * (Math.min(((int) (customerNodeCount * 0.4) - 4), 100) + 1));
 
             heuristics.destroyNodes(currentData, numberOfNodesToSwap, nodesToSwap, heuristicWeights, logger);
 
@@ -263,34 +296,34 @@ public class Solver {
 
             newValue = getDataValue(currentData);
 
-            logger.log("New data value: " + newValue);
+            if (logger.isDebugEnabled()) logger.debug("New data value: " + newValue);
 
             delta = newValue - currentValue;
-            hashCode = currentData.dataToHash();
+            fingerprint = currentData.fingerprint();
 
             if (delta < 0) {
                 if (newValue >= bestValue) {
-                    if (!hashes.contains(hashCode)) {
+                    if (!hashes.contains(fingerprint)) {
                         score = CONSTANTS.getSIGMA_2();
-                        hashes.add(hashCode);
+                        hashes.add(fingerprint);
                     }
                 }
 
                 data = currentData;
                 updateArrivalTimes(data);
-                logger.log("Solution accepted by default");
+                logger.debug("Solution accepted by default");
 
                 valueList.add(newValue);
-            } else if (Math.exp(-1 * (delta) / T) > Math.random()) {
+            } else if (Math.exp(-1 * (delta) / T) > random.nextDouble()) {
 
-                if (!hashes.contains(hashCode)) {
+                if (!hashes.contains(fingerprint)) {
                     score = CONSTANTS.getSIGMA_3();
-                    hashes.add(hashCode);
+                    hashes.add(fingerprint);
                 }
 
                 data = currentData;
                 updateArrivalTimes(data);
-                logger.log("Solution accepted by chance");
+                logger.debug("Solution accepted by chance");
 
                 valueList.add(newValue);
             }
@@ -299,12 +332,12 @@ public class Solver {
                 noBetterSolutionFound = 0;
 
                 score = CONSTANTS.getSIGMA_1();
-                hashes.add(hashCode);
+                hashes.add(fingerprint);
 
                 bestValue = newValue;
                 bestData = new Data(currentData);
                 updateArrivalTimes(bestData);
-                logger.log("New best solution found");
+                logger.debug("New best solution found");
             } else {
                 noBetterSolutionFound++;
             }
@@ -314,12 +347,30 @@ public class Solver {
                 updateWeights(heuristicWeights, CONSTANTS.getR());
                 heuristicWeightsList.add(new HeuristicWeights(heuristicWeights));
             }
+            if (solutionExchange != null) {
+                if (numberOfSteps % CONSTANTS.getEXCHANGE_INTERVAL() == 0) {
+                    solutionExchange.offer(bestData, bestValue, heuristicWeights);
+                }
+                if (noBetterSolutionFound >= CONSTANTS.getRESTART_LIMIT()) {
+                    SolutionExchange.SharedSolution sharedSolution = solutionExchange.getBest();
+                    if (sharedSolution != null && sharedSolution.getValue() < bestValue) {
+                        data = new Data(sharedSolution.getData());
+                        bestData = new Data(sharedSolution.getData());
+                        bestValue = sharedSolution.getValue();
+                        heuristicWeights = new HeuristicWeights(sharedSolution.getHeuristicWeights());
+                        noBetterSolutionFound = 0;
+                        logger.log("Restarted from the shared best solution");
+                    }
+                }
+            }
             numberOfSteps++;
             T *= 0.995;
-            iterationEnd = System.nanoTime();
-            logger.log("Iteration took " + ((iterationEnd - iterationStart) * 1e-9) + " seconds");
-            logger.emptyLine();
-            logger.emptyLine();
+            if (logger.isDebugEnabled()) {
+                iterationEnd = System.nanoTime();
+                logger.debug("Iteration took " + ((iterationEnd - iterationStart) * 1e-9) + " seconds");
+                logger.debug("");
+                logger.debug("");
+            }
         }
 
         LocalTime endALNS = LocalTime.now();
@@ -334,29 +385,20 @@ public class Solver {
 
         logger.emptyLine();
         logger.log(CONSTANTS.getDividerString());
+        return bestData;
     }
 
     /**
-     * This method updates the arrival times of the vehicles for performance increase
+     * This method updates the arrival times of the vehicles for performance increase. Only the routes modified since
+     * their last update are touched, from their first modified position, see Vehicle.updateArrivalTimes. Routes still
+     * shared with the data object they were copied from are unchanged, so their arrival times are already up-to-date.
      *
      * @param data - data object (graph) to work with
      */
     public void updateArrivalTimes(Data data) {
-        List<Vehicle> feasibleVehicles = new ArrayList<>();
-        for (Vehicle vehicle : data.getFleet()) if (vehicle.getRoute().size() > 3) feasibleVehicles.add(vehicle);
-        for (Vehicle vehicle : feasibleVehicles) {
-            vehicle.getArrivalTimes().clear();
-            Node currentNode = vehicle.getRoute().get(0), previousNode;
-            vehicle.getArrivalTimes().add((float) currentNode.getTimeStart());
-            float arrivalTime = currentNode.getTimeStart(), serviceTime = currentNode.getServiceTime(), travelTime;
-
-            for (int i = 1; i < vehicle.getRoute().size(); i++) {
-                previousNode = currentNode;
-                currentNode = vehicle.getRoute().get(i);
-                travelTime = data.getDistanceBetweenNode(previousNode, currentNode);
-                arrivalTime = Math.max(arrivalTime + serviceTime + travelTime, currentNode.getTimeStart());
-                vehicle.getArrivalTimes().add(arrivalTime);
-                serviceTime = currentNode.getServiceTime();
+        for (Vehicle vehicle : data.getFleet()) {
+            if (vehicle.getRouteSize() > 3 && !vehicle.isRouteShared() && vehicle.hasOutdatedArrivalTimes()) {
+                vehicle.updateArrivalTimes(data);
             }
         }
     }
@@ -368,19 +410,7 @@ public class Solver {
      * @param data    - data object (graph) to work with
      */
     public void updateArrivalTimesForVehicle(Vehicle vehicle, Data data) {
-        vehicle.getArrivalTimes().clear();
-        Node currentNode = vehicle.getRoute().get(0), previousNode;
-        vehicle.getArrivalTimes().add((float) currentNode.getTimeStart());
-        float arrivalTime = currentNode.getTimeStart(), serviceTime = currentNode.getServiceTime(), travelTime;
-
-        for (int i = 1; i < vehicle.getRoute().size(); i++) {
-            previousNode = currentNode;
-            currentNode = vehicle.getRoute().get(i);
-            travelTime = data.getDistanceBetweenNode(previousNode, currentNode);
-            arrivalTime = Math.max(arrivalTime + serviceTime + travelTime, currentNode.getTimeStart());
-            vehicle.getArrivalTimes().add(arrivalTime);
-            serviceTime = currentNode.getServiceTime();
-        }
+        vehicle.updateArrivalTimes(data);
     }
 
     /**
@@ -453,8 +483,8 @@ public class Solver {
      */
     private void updateHeuristicInformation(HeuristicWeights heuristicWeights, int score, Logger logger) {
 
-        LocalTime startTime = LocalTime.now();
-        logger.log("Updating heuristic information started at: " + startTime);
+        long startNanoTime = System.nanoTime();
+        if (logger.isDebugEnabled()) logger.debug("Updating heuristic information started at: " + LocalTime.now());
 
         int destroyHeuristic = heuristicWeights.getCurrentRemove();
         int repairHeuristic = heuristicWeights.getCurrentInsert();
@@ -504,8 +534,10 @@ public class Solver {
                 break;
         }
 
-        LocalTime endTime = LocalTime.now();
-        logger.log("Updating heuristic information ended at: " + endTime + ", took " + startTime.until(endTime, ChronoUnit.SECONDS) + " seconds");
+        if (logger.isDebugEnabled()) {
+            long endNanoTime = System.nanoTime();
+            logger.debug("Updating heuristic information ended at: " + LocalTime.now() + ", took " + ((endNanoTime - startNanoTime) * 1e-9) + " seconds");
+        }
     }
 
     /**
@@ -516,53 +548,112 @@ public class Solver {
      * @return - true if the vehicle has a valid route, false otherwise
      */
     public boolean checkForValidity(Data data, Vehicle vehicle) {
-        List<Node> route = vehicle.getRoute();
+        return findRouteViolation(data, vehicle) == null;
+    }
 
-        if (route.size() > vehicle.getMaximumNumberOfStopsToVisit()) {
-            return false;
+    /**
+     * @param data    - data object (graph) to work with
+     * @param vehicle - vehicle to check
+     * @return - description of the first violated constraint of the route of the vehicle, null if the route is valid
+     */
+    private String findRouteViolation(Data data, Vehicle vehicle) {
+        if (vehicle.getRouteSize() > vehicle.getMaximumNumberOfStopsToVisit()) {
+            return vehicle.getRouteSize() + " stops, more than the maximum of " + vehicle.getMaximumNumberOfStopsToVisit();
         }
 
-        Node currentNode = route.get(0), previousNode;
-        float currentTime = currentNode.getTimeStart(), quantity;
-        vehicle.setCurrentTime(currentTime);
-        vehicle.setCapacity((float) 0);
+        Node currentNode = vehicle.getNode(0), previousNode;
+        float currentTime = currentNode.getTimeStart(), capacity = 0;
         previousNode = currentNode;
-        for (int i = 1; i < route.size(); i++) {
-            currentNode = route.get(i);
+        for (int i = 1; i < vehicle.getRouteSize(); i++) {
+            currentNode = vehicle.getNode(i);
             float serviceTimeAtPreviousNode = previousNode.getServiceTime();
             float travelTime = data.getDistanceBetweenNode(previousNode, currentNode);
             if (currentNode.isDumpingSite()) {
-                vehicle.setCapacity((float) 0);
+                capacity = 0;
             } else if (!currentNode.isDepot()) {
-                quantity = currentNode.getQuantity();
-                vehicle.setCapacity(vehicle.getCapacity() + quantity);
+                capacity += currentNode.getQuantity();
             }
 
-            if (vehicle.getCapacity() > vehicle.getMaximumCapacity()) {
-                return false;
+            if (capacity > vehicle.getMaximumCapacity()) {
+                return "load " + capacity + " exceeds the capacity " + vehicle.getMaximumCapacity() + " at position " + i
+                        + " (node " + currentNode.getId() + ")";
             }
 
             if (!data.timeWindowCheck(currentTime + serviceTimeAtPreviousNode + travelTime, currentNode)) {
-                return false;
+                return "arrival " + (currentTime + serviceTimeAtPreviousNode + travelTime) + " after the time window end "
+                        + currentNode.getTimeEnd() + " at position " + i + " (node " + currentNode.getId() + ")";
             }
             currentTime = Math.max(currentTime + serviceTimeAtPreviousNode + travelTime, currentNode.getTimeStart());
-            vehicle.setCurrentTime(currentTime);
             previousNode = currentNode;
         }
-        return true;
+        return null;
+    }
+
+    /**
+     * Verifies the invariants of the solution if verification is turned on: the route of every vehicle except the
+     * penalty vehicle is valid, and no customer is visited more than once, or, if the solution is complete, exactly
+     * once. Every violation is collected into the report.
+     *
+     * @param data     - data object (graph) to verify
+     * @param stage    - step of the search after which the solution is verified, for the report
+     * @param complete - if set to true, every customer has to be in a route, otherwise some may wait for insertion
+     * @throws IllegalStateException - if the solution is invalid, with the report of the violations
+     */
+    public void verifySolution(Data data, String stage, boolean complete) {
+        if (!verification) return;
+        StringBuilder report = new StringBuilder();
+        int[] visits = new int[data.getNodeListSize()];
+        for (Vehicle vehicle : data.getFleet()) {
+            String vehicleName = vehicle.isPenaltyVehicle() ? "Penalty vehicle" : "Vehicle " + vehicle.getId();
+            if (!vehicle.isPenaltyVehicle() && !vehicle.isEmpty()) {
+                String violation = findRouteViolation(data, vehicle);
+                if (violation != null) {
+                    report.append(System.lineSeparator()).append(vehicleName).append(": ").append(violation)
+                            .append(", route ").append(routeToString(vehicle));
+                }
+            }
+            for (int i = 0; i < vehicle.getRouteSize(); i++) {
+                Node node = vehicle.getNode(i);
+                if (node.customerNode() && ++visits[node.getId()] == 2) {
+                    report.append(System.lineSeparator()).append("Node ").append(node.getId())
+                            .append(" is visited more than once, last by ").append(vehicleName).append(" at position ").append(i);
+                }
+            }
+        }
+        if (complete) {
+            for (Node node : data.getNodeList()) {
+                if (node.customerNode() && visits[node.getId()] == 0) {
+                    report.append(System.lineSeparator()).append("Node ").append(node.getId()).append(" is not visited");
+                }
+            }
+        }
+        if (report.length() > 0) {
+            throw new IllegalStateException("Invalid solution of " + data.getInfo() + " " + stage + ":" + report);
+        }
+    }
+
+    private String routeToString(Vehicle vehicle) {
+        StringBuilder route = new StringBuilder();
+        for (int i = 0; i < vehicle.getRouteSize(); i++) {
+            if (i > 0) route.append(" ");
+            route.append(vehicle.getNodeId(i));
+        }
+        return route.toString();
     }
 
     /**
-     * Gets the overall distance of all the vehicles by their routes
+     * Gets the overall distance of all the vehicles by their routes. The routes keep their own distance up-to-date, so
+     * this only sums the cached values of the fleet. The total is not kept in the data object, since the value of a
+     * vehicle is not a sum of edges (empty vehicles cost nothing, the penalty vehicle pays per stop) and a running total
+     * would round differently from this sum.
      *
      * @param data - data object (graph) to work with
      * @return - return the distance made by all the vehicles
      */
     public float getDataValue(Data data) {
         float overallDistance = 0;
-        for (Vehicle vehicle : data.getFleet().stream().filter(vehicle -> !vehicle.isEmpty()).collect(Collectors.toList())) {
-            float distance = vehicle.calculateTravelDistance(data);
-            overallDistance += distance;
+        for (Vehicle vehicle : data.getFleet()) {
+            overallDistance += vehicle.calculateTravelDistance(data);
         }
         return overallDistance;
     }
@@ -581,7 +672,7 @@ public class Solver {
         int numberOfCustomers;
 
         StringBuilder stringBuilder;
-        for (Vehicle vehicle : bestData.getFleet().stream().filter(vehicle -> vehicle.getRoute().size() > 3 || vehicle.isPenaltyVehicle()).collect(Collectors.toList())) {
+        for (Vehicle vehicle : bestData.getFleet().stream().filter(vehicle -> vehicle.getRouteSize() > 3 || vehicle.isPenaltyVehicle()).collect(Collectors.toList())) {
             travelDistance = vehicle.calculateTravelDistance(bestData);
             sumTravelDistance += travelDistance;
             numberOfCustomers = (int) vehicle.getRoute().stream().filter(node -> !node.isDepot() && !node.isDumpingSite()).count();
@@ -609,7 +700,7 @@ public class Solver {
                 } else if (node.isDumpingSite()) {
                     str = "DS" + node.getId();
                 } else {
-                    str = node.getId().toString();
+                    str = String.valueOf(node.getId());
                     customerNumber++;
                 }
                 stringBuilder.append(str).append(" ");
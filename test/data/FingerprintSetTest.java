@@ -0,0 +1,88 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprintSetTest {
+
+    /**
+     * The table of a set with a bound of 4 has 8 slots, the fingerprints hashed to the last slot form a probe sequence
+     * which wraps around the end of the table.
+     */
+    @Test
+    void evictionKeepsWrappedProbeSequencesReachable() {
+        List<Long> lastSlot = fingerprintsWithSlot(7, 8, 5);
+        List<Long> firstSlot = fingerprintsWithSlot(0, 8, 2);
+        FingerprintSet set = new FingerprintSet(4);
+
+        // the chain occupies the slots 7, 0, 1 and 2
+        for (int i = 0; i < 4; i++) assertTrue(set.add(lastSlot.get(i)));
+        for (int i = 0; i < 4; i++) assertTrue(set.contains(lastSlot.get(i)));
+        assertFalse(set.contains(firstSlot.get(0)));
+
+        // evicts the head of the chain in slot 7, the rest of the chain is shifted back over the end of the table
+        assertTrue(set.add(lastSlot.get(4)));
+        assertEquals(4, set.size());
+        assertFalse(set.contains(lastSlot.get(0)));
+        for (int i = 1; i < 5; i++) assertTrue(set.contains(lastSlot.get(i)));
+
+        // a fingerprint of slot 0 probes past the shifted chain, then evicts the next oldest one
+        assertTrue(set.add(firstSlot.get(0)));
+        assertFalse(set.contains(lastSlot.get(1)));
+        for (int i = 2; i < 5; i++) assertTrue(set.contains(lastSlot.get(i)));
+        assertTrue(set.contains(firstSlot.get(0)));
+        assertFalse(set.add(firstSlot.get(0)));
+
+        // an evicted fingerprint can be added again
+        assertTrue(set.add(lastSlot.get(0)));
+        assertTrue(set.contains(lastSlot.get(0)));
+        assertFalse(set.contains(lastSlot.get(2)));
+    }
+
+    /**
+     * Random adds from a small pool of fingerprints, so the table is always full, chains collide and evicted
+     * fingerprints come back, compared with a first in, first out reference.
+     */
+    @Test
+    void addAndContainsMatchFirstInFirstOutReference() {
+        Random random = new Random(8);
+        for (int bound : new int[]{1, 2, 3, 7, 8, 50}) {
+            long[] pool = new long[bound * 3];
+            for (int i = 0; i < pool.length; i++) pool[i] = 2 + i * 0x9e3779b97f4a7c15L;
+            FingerprintSet set = new FingerprintSet(bound);
+            ArrayDeque<Long> order = new ArrayDeque<>();
+            Set<Long> reference = new HashSet<>();
+            for (int step = 0; step < 20000; step++) {
+                long fingerprint = pool[random.nextInt(pool.length)];
+                boolean added = reference.add(fingerprint);
+                if (added) {
+                    order.addLast(fingerprint);
+                    if (order.size() > bound) reference.remove(order.removeFirst());
+                }
+                assertEquals(added, set.add(fingerprint), "bound " + bound + ", step " + step);
+                assertEquals(reference.size(), set.size());
+                for (long other : pool) {
+                    assertEquals(reference.contains(other), set.contains(other), "bound " + bound + ", step " + step);
+                }
+            }
+        }
+    }
+
+    private static List<Long> fingerprintsWithSlot(int slot, int capacity, int count) {
+        List<Long> fingerprints = new ArrayList<>();
+        for (long fingerprint = 2; fingerprints.size() < count; fingerprint++) {
+            if ((FingerprintSet.mix(fingerprint) & (capacity - 1)) == slot) fingerprints.add(fingerprint);
+        }
+        return fingerprints;
+    }
+}
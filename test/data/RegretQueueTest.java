@@ -0,0 +1,105 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegretQueueTest {
+
+    private static final int K = 3;
+
+    private final Random random = new Random(22);
+    private final List<Vehicle> vehicles = new ArrayList<>();
+
+    /**
+     * The regret lists are changed in place like the repair heuristic does, cheaper and more expensive insertions
+     * move the priority of a node both ways, and insertions which become infeasible or feasible change the number of
+     * feasible vehicles. After every poll the queue has to give the same node as a sorted reference.
+     */
+    @Test
+    void pollMatchesSortedReferenceAfterUpdates() {
+        for (int i = 0; i < 5; i++) vehicles.add(new Vehicle());
+        for (int round = 0; round < 50; round++) {
+            int numberOfNodes = 1 + random.nextInt(60);
+            RegretQueue queue = new RegretQueue(numberOfNodes, K);
+            List<Integer> queued = new ArrayList<>();
+            for (int i = 0; i < numberOfNodes; i++) {
+                NodeSwap nodeSwap = new NodeSwap(new Node(i, 0, 0, 1, 0, 100, 1, false, false));
+                for (int j = 1 + random.nextInt(vehicles.size()); j > 0; j--) addInsertion(nodeSwap);
+                nodeSwap.sortRegretList();
+                queued.add(queue.add(nodeSwap));
+            }
+
+            while (!queued.isEmpty()) {
+                for (int updates = random.nextInt(4); updates > 0; updates--) {
+                    int slot = queued.get(random.nextInt(queued.size()));
+                    modifyRegretList(queue.get(slot));
+                    queue.update(slot);
+                }
+                queued.sort(priorityOrder(queue));
+                int expectedSlot = queued.remove(0);
+                assertSame(queue.get(expectedSlot), queue.poll(), "round " + round);
+                assertFalse(queue.contains(expectedSlot));
+                for (int slot : queued) assertTrue(queue.contains(slot));
+            }
+            assertTrue(queue.isEmpty());
+            assertEquals(numberOfNodes, queue.getSlotCount());
+        }
+    }
+
+    /**
+     * Changes the value of an insertion, or removes or adds one, keeping the list sorted like the repair does.
+     */
+    private void modifyRegretList(NodeSwap nodeSwap) {
+        List<NodeSwap> regretList = nodeSwap.getRegretNodeSwapList();
+        int action = random.nextInt(4);
+        if (action == 0 && regretList.size() > 1) {
+            regretList.remove(random.nextInt(regretList.size()));
+        } else if (action == 1 && regretList.size() < vehicles.size()) {
+            addInsertion(nodeSwap);
+            nodeSwap.sortRegretList();
+        } else {
+            NodeSwap insertion = regretList.get(random.nextInt(regretList.size()));
+            nodeSwap.updateRegretNodeSwap(insertion, insertion.getIndex(), value());
+        }
+    }
+
+    private void addInsertion(NodeSwap nodeSwap) {
+        for (Vehicle vehicle : vehicles) {
+            if (nodeSwap.getRegretNodeSwap(vehicle) == null) {
+                nodeSwap.getRegretNodeSwapList().add(new NodeSwap(nodeSwap.getNode(), vehicle, value(), 1, true));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Few distinct values, so the ties of the regret and of the best value are covered too.
+     */
+    private float value() {
+        return random.nextInt(8) * 0.5f;
+    }
+
+    /**
+     * Priority of the queue computed from scratch: fewer feasible vehicles, larger regret, cheaper best insertion,
+     * then the earlier slot.
+     */
+    private static Comparator<Integer> priorityOrder(RegretQueue queue) {
+        Comparator<Integer> feasibleCount = Comparator.comparingInt(slot -> feasibleCount(queue.get(slot)));
+        Comparator<Integer> regret = Comparator.comparingDouble(slot -> -queue.get(slot).getRegretSum(feasibleCount(queue.get(slot))));
+        Comparator<Integer> bestValue = Comparator.comparingDouble(slot -> queue.get(slot).getRegretNodeSwapList().get(0).getValue());
+        return feasibleCount.thenComparing(regret).thenComparing(bestValue).thenComparing(Comparator.naturalOrder());
+    }
+
+    private static int feasibleCount(NodeSwap nodeSwap) {
+        return Math.min(nodeSwap.getNumberOfFeasibleVehiclesToInsertInto(), K);
+    }
+}
@@ -0,0 +1,81 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+import vrp.InstanceGenerator;
+import vrp.Logger;
+import vrp.Solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteSlackTest {
+
+    /**
+     * The routes of greedy solutions are thinned out by random removals, and their capacity and maximum number of
+     * stops are lowered, so the random insertions are rejected by the time windows, the load and the stop limit, or
+     * accepted. Every answer of the cache is compared with simulating the route with the node inserted.
+     */
+    @Test
+    void insertionFeasibilityMatchesSimulation() {
+        Random random = new Random(5);
+        int feasibleInsertions = 0, infeasibleInsertions = 0;
+        for (long seed = 1; seed <= 10; seed++) {
+            Data data = InstanceGenerator.generate(40, 2, seed);
+            new Solver(List.of(data), seed).initGreedy(data, new Logger(Logger.Level.OFF));
+            DistanceMatrix matrix = data.getMatrix();
+            RouteSlack routeSlack = new RouteSlack();
+
+            for (Vehicle vehicle : data.getFleet()) {
+                if (vehicle.isPenaltyVehicle() || vehicle.isEmpty()) continue;
+                for (int round = 0; round < 10; round++) {
+                    if (round > 0 && vehicle.getRouteSize() > 3) {
+                        int index = 1 + random.nextInt(vehicle.getRouteSize() - 2);
+                        if (vehicle.getNode(index).customerNode()) vehicle.removeNode(data, index);
+                    }
+                    vehicle.setMaximumCapacity(60 + random.nextInt(160));
+                    vehicle.setMaximumNumberOfStopsToVisit(vehicle.getRouteSize() + random.nextInt(3));
+                    routeSlack.update(vehicle, matrix);
+
+                    for (int insertion = 0; insertion < 30; insertion++) {
+                        Node node = data.getNodeOnIndex(1 + data.getDumpingSites().size()
+                                + random.nextInt(data.getNodeListSize() - 1 - data.getDumpingSites().size()));
+                        int index = 1 + random.nextInt(vehicle.getRouteSize() - 1);
+                        boolean expected = isFeasibleAfterInsertion(vehicle, matrix, node, index);
+                        assertEquals(expected, routeSlack.isInsertionFeasible(vehicle, matrix, node, index),
+                                "seed " + seed + ", vehicle " + vehicle.getId() + ", node " + node.getId() + " at " + index);
+                        if (expected) feasibleInsertions++;
+                        else infeasibleInsertions++;
+                    }
+                }
+            }
+        }
+        assertTrue(feasibleInsertions > 100, "feasible insertions: " + feasibleInsertions);
+        assertTrue(infeasibleInsertions > 100, "infeasible insertions: " + infeasibleInsertions);
+    }
+
+    /**
+     * Inserts the node into a copy of the route and checks it from its start like the validity check of the solver.
+     */
+    private static boolean isFeasibleAfterInsertion(Vehicle vehicle, DistanceMatrix matrix, Node node, int index) {
+        List<Node> route = new ArrayList<>(vehicle.getRoute());
+        route.add(index, node);
+        if (route.size() > vehicle.getMaximumNumberOfStopsToVisit()) return false;
+        float currentTime = route.get(0).getTimeStart(), load = 0;
+        for (int i = 1; i < route.size(); i++) {
+            Node previousNode = route.get(i - 1), currentNode = route.get(i);
+            float arrivalTime = currentTime + previousNode.getServiceTime() + matrix.getDistance(previousNode.getId(), currentNode.getId());
+            if (currentNode.isDumpingSite()) {
+                load = 0;
+            } else if (!currentNode.isDepot()) {
+                load += currentNode.getQuantity();
+            }
+            if (load > vehicle.getMaximumCapacity() || arrivalTime > currentNode.getTimeEnd()) return false;
+            currentTime = Math.max(arrivalTime, currentNode.getTimeStart());
+        }
+        return true;
+    }
+}
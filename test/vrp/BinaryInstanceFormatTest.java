@@ -0,0 +1,85 @@
+package vrp;
+
+import data.Data;
+import data.DistanceMatrix;
+import data.MatrixStatistics;
+import data.Node;
+import data.Vehicle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BinaryInstanceFormatTest {
+
+    @TempDir
+    Path folder;
+
+    /**
+     * The length of the tables depends on the length of the info string and the number of nodes, so a range of sizes
+     * covers every amount of padding before the aligned matrix.
+     */
+    @Test
+    void readReturnsTheWrittenInstance() throws IOException {
+        for (int numberOfCustomers = 1; numberOfCustomers <= 120; numberOfCustomers++) {
+            Data data = InstanceGenerator.generate(numberOfCustomers, numberOfCustomers);
+            Path path = folder.resolve("R_" + numberOfCustomers + ".vrpb");
+            BinaryInstanceFormat.write(data, path);
+            Data read = BinaryInstanceFormat.read(path);
+            assertSameInstance(data, read, "R_" + numberOfCustomers);
+        }
+    }
+
+    private static void assertSameInstance(Data expected, Data actual, String name) {
+        assertEquals(expected.getDataset(), actual.getDataset(), name);
+        assertEquals(expected.getInfo(), actual.getInfo(), name);
+
+        assertEquals(expected.getNodeListSize(), actual.getNodeListSize(), name);
+        for (int i = 0; i < expected.getNodeListSize(); i++) {
+            Node expectedNode = expected.getNodeOnIndex(i), actualNode = actual.getNodeOnIndex(i);
+            assertArrayEquals(new float[]{expectedNode.getCx(), expectedNode.getCy(), expectedNode.getQuantity(),
+                            expectedNode.getTimeStart(), expectedNode.getTimeEnd(), expectedNode.getServiceTime()},
+                    new float[]{actualNode.getCx(), actualNode.getCy(), actualNode.getQuantity(),
+                            actualNode.getTimeStart(), actualNode.getTimeEnd(), actualNode.getServiceTime()},
+                    name + " node " + i);
+            assertEquals(expectedNode.isDepot(), actualNode.isDepot(), name + " node " + i);
+            assertEquals(expectedNode.isDumpingSite(), actualNode.isDumpingSite(), name + " node " + i);
+        }
+
+        assertEquals(expected.getFleet().size(), actual.getFleet().size(), name);
+        for (int i = 0; i < expected.getFleet().size(); i++) {
+            Vehicle expectedVehicle = expected.getFleet().get(i), actualVehicle = actual.getFleet().get(i);
+            assertArrayEquals(new int[]{expectedVehicle.getType(), expectedVehicle.getDepartureNode().getId(),
+                            expectedVehicle.getArrivalNode().getId(), expectedVehicle.getMaximumCapacity(),
+                            expectedVehicle.getMaximumNumberOfStopsToVisit(), expectedVehicle.getId()},
+                    new int[]{actualVehicle.getType(), actualVehicle.getDepartureNode().getId(),
+                            actualVehicle.getArrivalNode().getId(), actualVehicle.getMaximumCapacity(),
+                            actualVehicle.getMaximumNumberOfStopsToVisit(), actualVehicle.getId()},
+                    name + " vehicle " + i);
+        }
+
+        DistanceMatrix expectedMatrix = expected.getMatrix(), actualMatrix = actual.getMatrix();
+        assertEquals(expectedMatrix.size(), actualMatrix.size(), name);
+        for (int i = 0; i < expectedMatrix.size(); i++) {
+            for (int j = 0; j < expectedMatrix.size(); j++) {
+                assertEquals(expectedMatrix.getDistance(i, j), actualMatrix.getDistance(i, j), name + " distance " + i + " " + j);
+            }
+        }
+
+        MatrixStatistics expectedStatistics = expected.getMatrixStatistics(), actualStatistics = actual.getMatrixStatistics();
+        assertEquals(expectedStatistics.getMaximum(), actualStatistics.getMaximum(), name);
+        assertEquals(expectedStatistics.getMinimum(), actualStatistics.getMinimum(), name);
+        assertEquals(expectedStatistics.getMean(), actualStatistics.getMean(), name);
+        assertEquals(expectedStatistics.getNearestK(), actualStatistics.getNearestK(), name);
+        for (int i = 0; i < expectedMatrix.size(); i++) {
+            for (int rank = 0; rank < expectedStatistics.getNearestK(); rank++) {
+                assertEquals(expectedStatistics.getNearestNeighbour(i, rank), actualStatistics.getNearestNeighbour(i, rank),
+                        name + " neighbour " + i + " " + rank);
+            }
+        }
+    }
+}
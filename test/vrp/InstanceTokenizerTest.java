@@ -0,0 +1,55 @@
+package vrp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class InstanceTokenizerTest {
+
+    @TempDir
+    Path folder;
+
+    /**
+     * Long mantissas are rounded differently if they are rounded to double first, so the numbers of the fast path and
+     * of the fallback have to give the same bits as Float.parseFloat.
+     */
+    @Test
+    void nextFloatMatchesFloatParseFloat() throws IOException {
+        List<String> numbers = new ArrayList<>(List.of(
+                "8.98255205154419", "8.69078779220581", "9.09758996963501", "2.07884418964386", "9.00490427017212",
+                "0", "0.000", "-0.0", "16777215", "16777216", "16777217", "1.6777217", "0.1", "-50.438", "+3.5",
+                "0.0000000001", "0.00000000001", "1e3", "1.5E-7", "00012.500"));
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            int fractionDigits = random.nextInt(16);
+            double value = random.nextDouble() * Math.pow(10, random.nextInt(8));
+            numbers.add(String.format(Locale.ROOT, "%." + fractionDigits + "f", random.nextBoolean() ? value : -value));
+        }
+
+        Path path = folder.resolve("numbers.txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < numbers.size(); i++) {
+            content.append(numbers.get(i)).append(i % 10 == 9 ? "\n" : " ");
+        }
+        Files.writeString(path, content);
+
+        try (InstanceTokenizer tokenizer = new InstanceTokenizer(path)) {
+            for (String number : numbers) {
+                if (!tokenizer.hasNextOnLine()) tokenizer.endLine();
+                assertEquals(Float.floatToIntBits(Float.parseFloat(number)), Float.floatToIntBits(tokenizer.nextFloat()), number);
+            }
+            tokenizer.endLine();
+            assertFalse(tokenizer.skipEmptyLines());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package vrp;
+
+import data.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverTest {
+
+    /**
+     * With verification on, every step of the construction and of the repair heuristics checks the solution, and the
+     * destroy methods are checked after each call, so the search fails at the first invalid solution. The instances have
+     * several dumping sites, so the disposal destroy methods have sites to swap and insert.
+     */
+    @Test
+    void seededSearchKeepsEverySolutionValid() {
+        for (long seed = 1; seed <= 3; seed++) {
+            Data data = InstanceGenerator.generate(30, 3, seed);
+            Solver solver = new Solver(List.of(data), seed);
+            solver.setVerification(true);
+            Logger logger = new Logger(Logger.Level.OFF);
+
+            solver.initGreedy(data, logger);
+            float greedyValue = solver.getDataValue(data);
+            Data bestData = solver.ALNS(data, logger);
+
+            solver.verifySolution(bestData, "after the search", true);
+            assertTrue(solver.getDataValue(bestData) <= greedyValue, "seed " + seed);
+        }
+    }
+}